@@ -1,5 +1,6 @@
 package com.itqgroup.generator;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -14,6 +15,7 @@ import java.net.http.HttpResponse;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -62,29 +64,29 @@ public class DocumentGenerator {
 
             long startTime = System.currentTimeMillis();
 
-            // Запускаем генерацию
-            for (int i = 0; i < totalDocuments; i++) {
-                final int index = i;
+            // Запускаем генерацию: по batchSize документов на запрос
+            for (int start = 0; start < totalDocuments; start += batchSize) {
+                final int from = start;
+                final int to = Math.min(start + batchSize, totalDocuments);
                 executor.submit(() -> {
                     try {
-                        String author = authors.get(index % authors.size());
-                        String title = generateTitle(index);
-
-                        boolean success = createDocument(author, title);
-
-                        if (success) {
-                            int created = createdCount.incrementAndGet();
-                            if (created % 10 == 0 || created == totalDocuments) {
-                                log.info("Progress: {}/{} documents created ({}%)",
-                                        created, totalDocuments,
-                                        (created * 100 / totalDocuments));
-                            }
-                        } else {
-                            failedCount.incrementAndGet();
+                        List<Map<String, String>> documents = new ArrayList<>(to - from);
+                        for (int index = from; index < to; index++) {
+                            documents.add(Map.of(
+                                    "author", authors.get(index % authors.size()),
+                                    "title", generateTitle(index)));
                         }
+
+                        int success = createDocuments(documents);
+
+                        int created = createdCount.addAndGet(success);
+                        failedCount.addAndGet(documents.size() - success);
+                        log.info("Progress: {}/{} documents created ({}%)",
+                                created, totalDocuments,
+                                (created * 100 / totalDocuments));
                     } catch (Exception e) {
-                        log.error("Error creating document {}: {}", index, e.getMessage());
-                        failedCount.incrementAndGet();
+                        log.error("Error creating documents {}-{}: {}", from, to - 1, e.getMessage());
+                        failedCount.addAndGet(to - from);
                     }
                 });
             }
@@ -164,34 +166,36 @@ public class DocumentGenerator {
         return String.format(template, index + 1);
     }
 
-    private static boolean createDocument(String author, String title) {
+    private static int createDocuments(List<Map<String, String>> documents) {
         try {
             HttpClient client = HttpClient.newHttpClient();
 
-            String requestBody = String.format(
-                    "{\"author\":\"%s\",\"title\":\"%s\"}",
-                    escapeJson(author),
-                    escapeJson(title)
-            );
-
             HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(baseUrl + "/api/documents"))
+                    .uri(URI.create(baseUrl + "/api/documents/batch"))
                     .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                    .POST(HttpRequest.BodyPublishers.ofString(OBJECT_MAPPER.writeValueAsString(documents)))
                     .build();
 
             HttpResponse<String> response = client.send(request,
                     HttpResponse.BodyHandlers.ofString());
 
-            return response.statusCode() == 201 || response.statusCode() == 200;
+            if (response.statusCode() != 200) {
+                log.error("Batch create failed with status {}: {}", response.statusCode(), response.body());
+                return 0;
+            }
+
+            // Ответ — результат по каждому документу пачки
+            int created = 0;
+            for (JsonNode result : OBJECT_MAPPER.readTree(response.body())) {
+                if ("CREATED".equals(result.path("status").asText())) {
+                    created++;
+                }
+            }
+            return created;
 
         } catch (Exception e) {
-            log.error("Failed to create document: {}", e.getMessage());
-            return false;
+            log.error("Failed to create documents: {}", e.getMessage());
+            return 0;
         }
     }
-
-    private static String escapeJson(String s) {
-        return s.replace("\"", "\\\"");
-    }
-}
\ No newline at end of file
+}
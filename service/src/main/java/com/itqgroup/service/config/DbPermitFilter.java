@@ -0,0 +1,53 @@
+package com.itqgroup.service.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Запрос к /api держит разрешение DbPermits всё время обработки (open-in-view держит соединение так же долго).
+ * Не дождавшись разрешения за timeout, запрос получает 503 вместо ожидания соединения в Hikari.
+ * Асинхронная часть ответа (выгрузка) идёт уже без разрешения.
+ */
+@Slf4j
+public class DbPermitFilter extends OncePerRequestFilter {
+
+    private final DbPermits permits;
+    private final Duration timeout;
+
+    public DbPermitFilter(DbPermits permits, Duration timeout) {
+        this.permits = permits;
+        this.timeout = timeout;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("No DB permit for {} {} within {} ms", request.getMethod(), request.getRequestURI(), timeout.toMillis());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Database is busy, retry later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
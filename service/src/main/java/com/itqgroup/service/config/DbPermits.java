@@ -0,0 +1,74 @@
+package com.itqgroup.service.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разрешения на работу с БД по числу соединений Hikari. С виртуальными потоками число потоков
+ * больше не ограничивает конкуренцию: без разрешений тысячи потоков ждали бы соединение
+ * до connection-timeout и падали разом.
+ */
+@Slf4j
+public class DbPermits {
+
+    private final Semaphore semaphore;
+    private final int permits;
+    private final Duration taskTimeout;
+
+    public DbPermits(int permits, Duration taskTimeout) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("DB permits must be positive");
+        }
+        this.permits = permits;
+        this.taskTimeout = taskTimeout;
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    public boolean tryAcquire(Duration timeout) throws InterruptedException {
+        return semaphore.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    /**
+     * Фоновой задаче некому вернуть 503, поэтому она ждёт разрешения не дольше taskTimeout и затем
+     * выполняется без него: соединение тогда ограничивает уже Hikari. Бесконечное ожидание взаимно
+     * блокировало бы запрос, который держит разрешение и ждёт свои задачи (/api/test/concurrent-approve,
+     * параллельный режим /submit и /approve), когда все разрешения заняты такими запросами.
+     */
+    public Runnable gated(Runnable task) {
+        return () -> {
+            boolean acquired;
+            try {
+                acquired = semaphore.tryAcquire(taskTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                log.warn("No DB permit for task {} within {} ms, running without permit",
+                        Thread.currentThread().getName(), taskTimeout.toMillis());
+            }
+            try {
+                task.run();
+            } finally {
+                if (acquired) {
+                    semaphore.release();
+                }
+            }
+        };
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int getAvailable() {
+        return semaphore.availablePermits();
+    }
+}
@@ -0,0 +1,19 @@
+package com.itqgroup.service.config;
+
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class SchedulingConfig {
+
+    /**
+     * На этом планировщике идут такты SubmitWorker и ApproveWorker и задачи @Scheduled;
+     * размер пула задаёт spring.task.scheduling.pool.size.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(TaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.itqgroup.service.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Источник пулов для всех фоновых задач, работающих с БД: воркеров, задач, импорта, параллельного режима
+ * и тестового контроллера. Обычный режим — фиксированный пул платформенных потоков, режим
+ * spring.threads.virtual.enabled — виртуальный поток на задачу под разрешением DbPermits (VirtualThreadsConfig).
+ */
+@FunctionalInterface
+public interface TaskThreads {
+
+    /**
+     * @param name    префикс имён потоков
+     * @param threads размер пула; в режиме виртуальных потоков не ограничивает число задач
+     */
+    ExecutorService newExecutor(String name, int threads);
+
+    static TaskThreads platform() {
+        return (name, threads) -> Executors.newFixedThreadPool(threads, namedDaemonThreads(name));
+    }
+
+    private static ThreadFactory namedDaemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.itqgroup.service.config;
+
+import com.itqgroup.service.numbering.NodeLease;
+import com.itqgroup.service.numbering.SnowflakeUniqueNumberGenerator;
+import com.itqgroup.service.numbering.UniqueNumberGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+@Configuration
+@Slf4j
+public class UniqueNumberConfig {
+
+    /**
+     * Номер узла задаётся document.unique-number.node-id или арендуется при старте в document_node_lease
+     * (changeset 013). Арендованный узел перед каждым номером проверяется без обращения к БД,
+     * потерянная аренда заменяется свободным узлом.
+     */
+    @Bean
+    public NodeLease nodeLease(JdbcTemplate jdbcTemplate,
+                               @Value("${document.unique-number.lease-ttl:60s}") Duration ttl) {
+        return new NodeLease(jdbcTemplate, ttl);
+    }
+
+    @Bean
+    public UniqueNumberGenerator uniqueNumberGenerator(NodeLease nodeLease,
+                                                       @Value("${document.unique-number.node-id:-1}") int nodeId) {
+        if (nodeId >= 0) {
+            log.info("Using configured unique number node id {}", nodeId);
+            return new SnowflakeUniqueNumberGenerator(nodeId);
+        }
+        nodeLease.acquire();
+        return nodeLease::next;
+    }
+}
@@ -0,0 +1,61 @@
+package com.itqgroup.service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Режим виртуальных потоков (свойство то же, что в Spring Boot 3.2+): запросы Tomcat и все пулы TaskThreads —
+ * воркеры, задачи, импорт, параллельный режим и тестовый контроллер. Конкуренцию с БД ограничивает не число потоков,
+ * а DbPermits по размеру пула Hikari: его делят запросы /api и задачи этих пулов.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean
+    public DbPermits dbPermits(DataSource dataSource,
+                               @Value("${document.db.permits:0}") int permits,
+                               @Value("${document.db.task-permit-timeout:30000}") long taskTimeoutMillis) throws SQLException {
+        // По умолчанию — максимальный размер пула Hikari
+        int size = permits > 0 ? permits : dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        log.info("Virtual threads enabled, DB concurrency limited to {} permits", size);
+        return new DbPermits(size, Duration.ofMillis(taskTimeoutMillis));
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 1).factory()));
+    }
+
+    @Bean
+    public FilterRegistrationBean<DbPermitFilter> dbPermitFilter(DbPermits dbPermits,
+                                                                 @Value("${document.db.permit-timeout:5000}") long timeoutMillis) {
+        FilterRegistrationBean<DbPermitFilter> registration =
+                new FilterRegistrationBean<>(new DbPermitFilter(dbPermits, Duration.ofMillis(timeoutMillis)));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public TaskThreads virtualTaskThreads(DbPermits dbPermits) {
+        // Виртуальный поток выполняет одну задачу, поэтому разрешение берётся на всю задачу
+        return (name, threads) -> {
+            ThreadFactory virtualThreads = Thread.ofVirtual().name(name + "-", 1).factory();
+            return Executors.newThreadPerTaskExecutor(task -> virtualThreads.newThread(dbPermits.gated(task)));
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.itqgroup.service.controller;
 
+import com.itqgroup.service.config.TaskThreads;
 import com.itqgroup.service.dto.ApproveResult;
 import com.itqgroup.service.dto.ConcurrentTestRequest;
 import com.itqgroup.service.dto.ConcurrentTestResult;
@@ -17,7 +18,6 @@ import org.springframework.web.bind.annotation.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 @RestController
@@ -28,6 +28,7 @@ public class ConcurrentTestController {
 
     private final DocumentService documentService;
     private final DocumentRepository documentRepository;
+    private final TaskThreads taskThreads;
 
     @PostMapping("/concurrent-approve/{documentId}")
     public ResponseEntity<ConcurrentTestResult> testConcurrentApprove(
@@ -45,7 +46,7 @@ public class ConcurrentTestController {
             throw new RuntimeException("Document must be in SUBMITTED status for test. Current status: " + document.getStatus());
         }
 
-        ExecutorService executor = Executors.newFixedThreadPool(request.getThreads());
+        ExecutorService executor = taskThreads.newExecutor("concurrent-test", request.getThreads());
         List<Future<ApproveResult>> futures = new ArrayList<>();
 
         // Создаем запрос для утверждения
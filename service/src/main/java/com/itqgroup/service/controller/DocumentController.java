@@ -1,15 +1,50 @@
 package com.itqgroup.service.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.itqgroup.service.dto.*;
+import com.itqgroup.service.exception.BadRequestException;
+import com.itqgroup.service.model.enums.DocumentAction;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.service.DocumentCache;
+import com.itqgroup.service.service.DocumentImportService;
+import com.itqgroup.service.service.DocumentJobService;
 import com.itqgroup.service.service.DocumentService;
+import com.itqgroup.service.service.DocumentStatusNotifier;
+import com.itqgroup.service.service.ParallelDocumentActionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiConsumer;
 
 @RestController
 @RequestMapping("/api/documents")
@@ -17,7 +52,31 @@ import java.util.List;
 @Slf4j
 public class DocumentController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TEXT_CSV_VALUE = "text/csv";
+
     private final DocumentService documentService;
+    private final DocumentCache documentCache;
+    private final DocumentImportService importService;
+    private final DocumentJobService jobService;
+    private final ParallelDocumentActionService parallelService;
+    private final DocumentStatusNotifier statusNotifier;
+    private final ObjectMapper objectMapper;
+
+    @Value("${document.batch.max-create-size:10000}")
+    private int maxCreateSize;
+
+    @Value("${document.events.max-await:5m}")
+    private Duration maxAwait;
+
+    @Value("${document.events.sse-timeout:30m}")
+    private Duration sseTimeout;
+
+    @Value("${document.events.max-ids:1000}")
+    private int maxEventIds;
+
+    @Value("${document.export.timeout:1h}")
+    private Duration exportTimeout;
 
     @PostMapping
     public ResponseEntity<DocumentResponse> createDocument(@Valid @RequestBody DocumentCreateRequest request) {
@@ -26,13 +85,137 @@ public class DocumentController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<CreateResult>> createDocuments(@RequestBody List<DocumentCreateRequest> requests) {
+        log.info("REST request to create {} documents", requests.size());
+        List<CreateResult> results = documentService.createDocuments(requests);
+        return ResponseEntity.ok(results);
+    }
+
+    // Тот же batch потоком NDJSON: документ на строку
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<CreateResult>> createDocumentsFromNdjson(InputStream body) throws IOException {
+        List<DocumentCreateRequest> requests = new ArrayList<>();
+        try (MappingIterator<DocumentCreateRequest> items =
+                     objectMapper.readerFor(DocumentCreateRequest.class).readValues(body)) {
+            while (items.hasNextValue()) {
+                // Не дочитываем заведомо слишком большой поток
+                if (requests.size() == maxCreateSize) {
+                    throw new BadRequestException("Batch exceeds the maximum of " + maxCreateSize + " documents");
+                }
+                requests.add(items.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed NDJSON: " + e.getOriginalMessage());
+        }
+        log.info("REST request to create {} documents from NDJSON", requests.size());
+        List<CreateResult> results = documentService.createDocuments(requests);
+        return ResponseEntity.ok(results);
+    }
+
+    // Импорт больших объёмов через COPY: тело сохраняется, задача выполняется в фоне
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportJobResponse> importNdjson(InputStream body) throws IOException {
+        return startImport(body, ImportJobResponse.Format.NDJSON);
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportJobResponse> importCsv(InputStream body) throws IOException {
+        return startImport(body, ImportJobResponse.Format.CSV);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobResponse> getImport(@PathVariable UUID jobId) {
+        return importService.getImport(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Условный GET: при неизменном updatedAt — 304 после запроса одной колонки, без загрузки документа и истории
     @GetMapping("/{id}")
-    public ResponseEntity<DocumentResponse> getDocument(@PathVariable Long id) {
+    public ResponseEntity<DocumentResponse> getDocument(@PathVariable Long id, WebRequest webRequest,
+                                                        HttpServletResponse servletResponse) {
         log.info("REST request to get document with id: {}", id);
-        DocumentResponse response = documentService.getDocumentWithHistory(id);
+        Optional<LocalDateTime> version = documentService.getDocumentVersion(id);
+        if (version.isPresent() && webRequest.checkNotModified(etag(id, version.get()), lastModified(version.get()))) {
+            return null;
+        }
+        DocumentResponse response = documentCache.getDocumentWithHistory(id);
+        // Версия нужна только для 304: тело читается позже и может быть другой версии,
+        // поэтому заголовки, выставленные checkNotModified, заменяются версией отданного тела
+        if (response.getUpdatedAt() != null) {
+            servletResponse.setHeader(HttpHeaders.ETAG, etag(id, response.getUpdatedAt()));
+            servletResponse.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified(response.getUpdatedAt()));
+        }
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Ожидание статуса вместо опроса: ответ, как только документ достигнет status (или пройдёт его),
+     * по истечении timeout — текущее состояние документа.
+     */
+    @GetMapping("/{id}/await")
+    public DeferredResult<ResponseEntity<DocumentResponse>> awaitStatus(@PathVariable Long id,
+                                                                        @RequestParam DocumentStatus status,
+                                                                        @RequestParam(defaultValue = "30s") String timeout) {
+        Duration wait = parseTimeout(timeout);
+        log.info("REST request to await status {} of document {} for {}", status, id, wait);
+
+        DeferredResult<ResponseEntity<DocumentResponse>> result = new DeferredResult<>(wait.toMillis());
+        Runnable unsubscribe = statusNotifier.subscribe(List.of(id), (documentId, changed) -> {
+            if (changed.compareTo(status) >= 0) {
+                completeWithDocument(result, id);
+            }
+        });
+        result.onCompletion(unsubscribe);
+        result.onTimeout(() -> completeWithDocument(result, id));
+
+        // Проверка после подписки: переход мог закоммититься раньше
+        DocumentStatus current = documentService.getDocumentStatuses(List.of(id)).get(id);
+        if (current == null) {
+            unsubscribe.run();
+            throw new RuntimeException("Document not found with id: " + id);
+        }
+        if (current.compareTo(status) >= 0) {
+            completeWithDocument(result, id);
+        }
+        return result;
+    }
+
+    /**
+     * Поток переходов статуса для набора документов: сначала текущие статусы, затем каждый переход.
+     * Статусы документа в потоке только растут (DRAFT, SUBMITTED, APPROVED): повторы и снимок,
+     * прочитанный раньше уже отправленного перехода, отбрасываются.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatusChanges(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > maxEventIds) {
+            throw new BadRequestException("Document IDs list must contain between 1 and " + maxEventIds + " items");
+        }
+        log.info("REST request to stream status changes of {} documents", ids.size());
+
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        // Подписка идёт до снимка, поэтому переход может обогнать устаревший статус из снимка
+        Map<Long, DocumentStatus> sent = new HashMap<>();
+        BiConsumer<Long, DocumentStatus> send = (documentId, status) -> {
+            synchronized (sent) {
+                DocumentStatus previous = sent.get(documentId);
+                if (previous != null && previous.compareTo(status) >= 0) {
+                    return;
+                }
+                sent.put(documentId, status);
+                sendStatus(emitter, documentId, status);
+            }
+        };
+        Runnable unsubscribe = statusNotifier.subscribe(ids, send);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe.run());
+
+        documentService.getDocumentStatuses(ids).forEach(send);
+        return emitter;
+    }
+
     @GetMapping
     public ResponseEntity<List<DocumentResponse>> getDocuments(
             @RequestParam List<Long> ids,
@@ -43,24 +226,144 @@ public class DocumentController {
         return ResponseEntity.ok(responses);
     }
 
+    // parallel=true: части запроса в отдельных транзакциях параллельно, без атомарности всего запроса
     @PostMapping("/submit")
-    public ResponseEntity<List<SubmitResult>> submitDocuments(@Valid @RequestBody DocumentActionRequest request) {
-        log.info("REST request to submit documents: {}", request);
-        List<SubmitResult> results = documentService.submitDocuments(request);
+    public ResponseEntity<List<SubmitResult>> submitDocuments(@Valid @RequestBody DocumentActionRequest request,
+                                                              @RequestParam(defaultValue = "false") boolean parallel) {
+        log.info("REST request to submit documents (parallel: {}): {}", parallel, request);
+        List<SubmitResult> results = parallel
+                ? parallelService.submitDocuments(request)
+                : documentService.submitDocuments(request);
         return ResponseEntity.ok(results);
     }
 
     @PostMapping("/approve")
-    public ResponseEntity<List<ApproveResult>> approveDocuments(@Valid @RequestBody DocumentActionRequest request) {
-        log.info("REST request to approve documents: {}", request);
-        List<ApproveResult> results = documentService.approveDocuments(request);
+    public ResponseEntity<List<ApproveResult>> approveDocuments(@Valid @RequestBody DocumentActionRequest request,
+                                                                @RequestParam(defaultValue = "false") boolean parallel) {
+        log.info("REST request to approve documents (parallel: {}): {}", parallel, request);
+        List<ApproveResult> results = parallel
+                ? parallelService.approveDocuments(request)
+                : documentService.approveDocuments(request);
         return ResponseEntity.ok(results);
     }
 
+    // Списки любого размера: задача в фоне, ответ 202 сразу
+    @PostMapping("/jobs/{action}")
+    public ResponseEntity<DocumentJobResponse> createJob(@PathVariable String action,
+                                                         @Valid @RequestBody DocumentJobRequest request) {
+        log.info("REST request to create {} job for {} documents", action, request.getIds().size());
+        DocumentJobResponse job = jobService.createJob(parseAction(action), request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/documents/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<DocumentJobResponse> getJob(@PathVariable UUID jobId) {
+        return jobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/jobs/{jobId}/results")
+    public ResponseEntity<List<DocumentJobItemResponse>> getJobResults(
+            @PathVariable UUID jobId,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "1000") int size) {
+        return ResponseEntity.ok(jobService.getJobResults(jobId, from, status, size));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<DocumentResponse>> searchDocuments(@Valid DocumentSearchRequest request) {
         log.info("REST request to search documents with filters: {}", request);
+        if (request.getCursor() != null) {
+            DocumentSearchPage page = documentService.searchDocumentsByCursor(request);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getDocuments());
+        }
         List<DocumentResponse> results = documentService.searchDocuments(request);
         return ResponseEntity.ok(results);
     }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportDocuments(@Valid DocumentSearchRequest request,
+                                                                 HttpServletRequest servletRequest) {
+        log.info("REST request to export documents with filters: {}", request);
+        StreamingResponseBody body = out -> {
+            // Большие выгрузки идут дольше общего таймаута асинхронных запросов; продлеваем только этот запрос
+            servletRequest.getAsyncContext().setTimeout(exportTimeout.toMillis());
+            documentService.exportDocuments(request, out);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=documents.ndjson")
+                .body(body);
+    }
+
+    // Сильный ETag: id и updatedAt с точностью до микросекунд, как хранит PostgreSQL
+    private static String etag(Long id, LocalDateTime updatedAt) {
+        Instant instant = updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+        return "\"" + id + "-" + instant.getEpochSecond() + String.format("%06d", instant.getNano() / 1_000) + "\"";
+    }
+
+    private static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void completeWithDocument(DeferredResult<ResponseEntity<DocumentResponse>> result, Long id) {
+        if (result.isSetOrExpired()) {
+            return;
+        }
+        try {
+            // Мимо кэша: уведомление может опередить сброс записи
+            result.setResult(ResponseEntity.ok(documentService.getDocumentWithHistory(id)));
+        } catch (RuntimeException e) {
+            result.setErrorResult(e);
+        }
+    }
+
+    private static void sendStatus(SseEmitter emitter, Long documentId, DocumentStatus status) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("status")
+                    .data(DocumentStatusEvent.builder().documentId(documentId).status(status).build()));
+        } catch (IOException | IllegalStateException e) {
+            // Клиент отключился: onError/onCompletion снимут подписку
+            log.debug("Failed to send status of document {}: {}", documentId, e.getMessage());
+        }
+    }
+
+    private Duration parseTimeout(String timeout) {
+        Duration wait;
+        try {
+            wait = DurationStyle.detectAndParse(timeout);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid timeout: " + timeout);
+        }
+        if (wait.isNegative() || wait.isZero() || wait.compareTo(maxAwait) > 0) {
+            throw new BadRequestException("Timeout must be positive and at most " + maxAwait);
+        }
+        return wait;
+    }
+
+    private static DocumentAction parseAction(String action) {
+        try {
+            return DocumentAction.valueOf(action.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown job action: " + action);
+        }
+    }
+
+    private ResponseEntity<ImportJobResponse> startImport(InputStream body, ImportJobResponse.Format format)
+            throws IOException {
+        log.info("REST request to import documents from {}", format);
+        ImportJobResponse job = importService.startImport(body, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/documents/import/" + job.getJobId()))
+                .body(job);
+    }
 }
\ No newline at end of file
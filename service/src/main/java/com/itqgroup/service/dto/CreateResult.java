@@ -0,0 +1,47 @@
+package com.itqgroup.service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CreateResult {
+    // Позиция элемента в запросе
+    private int index;
+    private Long documentId;
+    private String uniqueNumber;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        ERROR
+    }
+
+    public static CreateResult created(int index, DocumentSummary document) {
+        return CreateResult.builder()
+                .index(index)
+                .documentId(document.id())
+                .uniqueNumber(document.uniqueNumber())
+                .status(Status.CREATED)
+                .message("Document created successfully")
+                .build();
+    }
+
+    public static CreateResult invalid(int index, String message) {
+        return CreateResult.builder()
+                .index(index)
+                .status(Status.INVALID)
+                .message(message)
+                .build();
+    }
+
+    public static CreateResult error(int index, String message) {
+        return CreateResult.builder()
+                .index(index)
+                .status(Status.ERROR)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.itqgroup.service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DocumentJobItemResponse {
+    // Позиция элемента в запросе
+    private int index;
+    private Long documentId;
+    // Статус SubmitResult или ApproveResult; null — ещё не обработан
+    private String status;
+    private String message;
+}
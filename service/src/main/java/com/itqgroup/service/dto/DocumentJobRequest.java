@@ -0,0 +1,22 @@
+package com.itqgroup.service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Как DocumentActionRequest, но без ограничения в 1000 id: верхняя граница — document.job.max-ids.
+ */
+@Data
+public class DocumentJobRequest {
+
+    @NotEmpty(message = "Document IDs list cannot be empty")
+    private List<Long> ids;
+
+    @NotBlank(message = "User ID is required")
+    private String userId;
+
+    private String comment;
+}
@@ -0,0 +1,31 @@
+package com.itqgroup.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.itqgroup.service.model.enums.DocumentAction;
+import com.itqgroup.service.model.enums.JobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+public class DocumentJobResponse {
+    private UUID jobId;
+    private DocumentAction action;
+    private JobStatus status;
+    private String userId;
+    private int total;
+    private int processed;
+    private int succeeded;
+    private int failed;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // Число элементов по статусам результата; только у завершённых задач
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Long> summary;
+}
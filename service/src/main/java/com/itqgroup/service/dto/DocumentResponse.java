@@ -1,5 +1,6 @@
 package com.itqgroup.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.itqgroup.service.model.enums.DocumentStatus;
 import lombok.Builder;
 import lombok.Data;
@@ -17,5 +18,6 @@ public class DocumentResponse {
     private DocumentStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<HistoryResponse> history;
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.itqgroup.service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DocumentSearchPage {
+    private List<DocumentResponse> documents;
+    // null — страница последняя
+    private String nextCursor;
+}
@@ -21,4 +21,10 @@ public class DocumentSearchRequest {
 
     private int page = 0;
     private int size = 20;
+
+    // Keyset-режим: пустая строка — первая страница, дальше — значение X-Next-Cursor; page при этом не используется
+    private String cursor;
+
+    // false — без истории: для списков она часто не нужна и стоит отдельного запроса
+    private boolean includeHistory = true;
 }
\ No newline at end of file
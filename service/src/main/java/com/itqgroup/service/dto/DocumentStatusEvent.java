@@ -0,0 +1,13 @@
+package com.itqgroup.service.dto;
+
+import com.itqgroup.service.model.enums.DocumentStatus;
+import lombok.Builder;
+import lombok.Data;
+
+// Событие SSE /api/documents/events
+@Data
+@Builder
+public class DocumentStatusEvent {
+    private Long documentId;
+    private DocumentStatus status;
+}
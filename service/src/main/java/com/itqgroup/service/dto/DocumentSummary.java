@@ -0,0 +1,23 @@
+package com.itqgroup.service.dto;
+
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.enums.DocumentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Поля документа без истории и связей — проекция для списков.
+ */
+public record DocumentSummary(Long id,
+                              String uniqueNumber,
+                              String author,
+                              String title,
+                              DocumentStatus status,
+                              LocalDateTime createdAt,
+                              LocalDateTime updatedAt) {
+
+    public static DocumentSummary of(Document document) {
+        return new DocumentSummary(document.getId(), document.getUniqueNumber(), document.getAuthor(),
+                document.getTitle(), document.getStatus(), document.getCreatedAt(), document.getUpdatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.itqgroup.service.dto;
+
+import com.itqgroup.service.model.enums.DocumentAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запись истории без сущности: для выдачи в ответах достаточно полей строки.
+ */
+public record HistoryEntry(Long documentId,
+                           Long id,
+                           DocumentAction action,
+                           String userId,
+                           String comment,
+                           LocalDateTime timestamp) {
+}
@@ -0,0 +1,38 @@
+package com.itqgroup.service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ImportJobResponse {
+    private UUID jobId;
+    private Format format;
+    private Status status;
+    // Строк, закоммиченных в document
+    private long rowsImported;
+    private long rowsRejected;
+    // Первые ошибки по отклонённым строкам: "line N: ..."
+    private List<String> errors;
+    private double rowsPerSecond;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
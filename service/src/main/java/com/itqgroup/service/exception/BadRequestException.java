@@ -0,0 +1,12 @@
+package com.itqgroup.service.exception;
+
+/**
+ * Ошибка в данных запроса клиента: отдаётся как 400 с сообщением исключения,
+ * поэтому сообщение должно быть понятно клиенту и не раскрывать внутренности.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
 public class ApprovalRegistry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.APPROVAL_REGISTRY)
+    @SequenceGenerator(name = IdSequences.APPROVAL_REGISTRY, sequenceName = IdSequences.APPROVAL_REGISTRY,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "document_id", nullable = false, unique = true)
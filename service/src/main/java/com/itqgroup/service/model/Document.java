@@ -2,6 +2,7 @@ package com.itqgroup.service.model;
 
 import com.itqgroup.service.model.enums.DocumentAction;
 import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.numbering.UniqueNumberListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,17 +13,21 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Entity
 @Table(name = "document")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UniqueNumberListener.class})
 @Data
 @NoArgsConstructor
 public class Document {
 
+    public static final String SUBMIT_CONFLICT_MESSAGE = "Document must be in DRAFT status to submit";
+    public static final String APPROVE_CONFLICT_MESSAGE = "Document must be in SUBMITTED status to approve";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.DOCUMENT)
+    @SequenceGenerator(name = IdSequences.DOCUMENT, sequenceName = IdSequences.DOCUMENT,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "unique_number", nullable = false, unique = true)
@@ -49,22 +54,25 @@ public class Document {
     @OneToMany(mappedBy = "document", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<DocumentHistory> history = new ArrayList<>();
 
-    @PrePersist
-    public void generateUniqueNumber() {
-        this.uniqueNumber = "DOC-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    public boolean canSubmit() {
+        return this.status == DocumentStatus.DRAFT;
+    }
+
+    public boolean canApprove() {
+        return this.status == DocumentStatus.SUBMITTED;
     }
 
     public void submit(String userId, String comment) {
-        if (this.status != DocumentStatus.DRAFT) {
-            throw new IllegalStateException("Document must be in DRAFT status to submit");
+        if (!canSubmit()) {
+            throw new IllegalStateException(SUBMIT_CONFLICT_MESSAGE);
         }
         this.status = DocumentStatus.SUBMITTED;
         addHistory(DocumentAction.SUBMIT, userId, comment);
     }
 
     public void approve(String userId, String comment) {
-        if (this.status != DocumentStatus.SUBMITTED) {
-            throw new IllegalStateException("Document must be in SUBMITTED status to approve");
+        if (!canApprove()) {
+            throw new IllegalStateException(APPROVE_CONFLICT_MESSAGE);
         }
         this.status = DocumentStatus.APPROVED;
         addHistory(DocumentAction.APPROVE, userId, comment);
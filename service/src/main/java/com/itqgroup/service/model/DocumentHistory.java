@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 public class DocumentHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.DOCUMENT_HISTORY)
+    @SequenceGenerator(name = IdSequences.DOCUMENT_HISTORY, sequenceName = IdSequences.DOCUMENT_HISTORY,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
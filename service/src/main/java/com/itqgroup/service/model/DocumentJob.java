@@ -0,0 +1,67 @@
+package com.itqgroup.service.model;
+
+import com.itqgroup.service.model.enums.DocumentAction;
+import com.itqgroup.service.model.enums.JobStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Фоновая задача отправки или утверждения большого списка документов.
+ * Документы задачи и результаты по ним — в document_job_item.
+ */
+@Entity
+@Table(name = "document_job")
+@Data
+@NoArgsConstructor
+public class DocumentJob {
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DocumentAction action;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(columnDefinition = "TEXT")
+    private String comment;
+
+    @Column(nullable = false)
+    private int total;
+
+    // Обработано элементов с начала списка: следующая часть начинается с item_no = processed
+    @Column(nullable = false)
+    private int processed;
+
+    @Column(nullable = false)
+    private int succeeded;
+
+    @Column(nullable = false)
+    private int failed;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Обновляется после каждой части; давно не обновлявшаяся RUNNING-задача подхватывается заново
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,47 @@
+package com.itqgroup.service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Документ задачи и результат по нему (status пуст, пока элемент не обработан).
+ * Читается и пишется пакетами через DocumentJobItemRepository, сущность описывает таблицу.
+ */
+@Entity
+@Table(name = "document_job_item")
+@IdClass(DocumentJobItem.Key.class)
+@Data
+@NoArgsConstructor
+public class DocumentJobItem {
+
+    @Id
+    @Column(name = "job_id")
+    private UUID jobId;
+
+    // Позиция в списке запроса
+    @Id
+    @Column(name = "item_no")
+    private int itemNo;
+
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+
+    @Column(length = 20)
+    private String status;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID jobId;
+        private int itemNo;
+    }
+}
@@ -0,0 +1,40 @@
+package com.itqgroup.service.model;
+
+import com.itqgroup.service.model.enums.DocumentStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Доля числа документов в статусе (changeset 11). Строки пишут только триггеры на document,
+ * число документов в статусе — сумма по всем shard.
+ */
+@Entity
+@Table(name = "document_status_counter")
+@IdClass(DocumentStatusCounter.Key.class)
+@Data
+@NoArgsConstructor
+public class DocumentStatusCounter {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private DocumentStatus status;
+
+    @Id
+    private int shard;
+
+    @Column(name = "document_count", nullable = false)
+    private long documentCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private DocumentStatus status;
+        private int shard;
+    }
+}
@@ -0,0 +1,17 @@
+package com.itqgroup.service.model;
+
+/**
+ * Последовательности идентификаторов (changeset 005).
+ * Шаг последовательности в БД обязан совпадать с {@link #ALLOCATION_SIZE}.
+ */
+public final class IdSequences {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String DOCUMENT = "document_seq";
+    public static final String DOCUMENT_HISTORY = "document_history_seq";
+    public static final String APPROVAL_REGISTRY = "approval_registry_seq";
+
+    private IdSequences() {
+    }
+}
@@ -0,0 +1,8 @@
+package com.itqgroup.service.model.enums;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,161 @@
+package com.itqgroup.service.numbering;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Аренда номера узла в document_node_lease (changeset 013). Свободен узел, аренда которого истекла;
+ * владелец продлевает её раз в heartbeat-interval на lease-ttl, при остановке освобождает.
+ * Время аренды считается по часам БД, поэтому расхождение часов экземпляров на неё не влияет.
+ * <p>
+ * Номера выдаются генератором арендованного узла. Если свободных узлов нет, старт падает. Если аренду
+ * не удалось продлить дольше lease-ttl или узел занял другой экземпляр, арендуется свободный узел
+ * и генератор заменяется; номера не выдаются, только пока свободного узла нет.
+ */
+@Slf4j
+public class NodeLease {
+
+    private static final String ACQUIRE_SQL = "UPDATE document_node_lease "
+            + "SET owner = ?, expires_at = now() + ? * INTERVAL '1 millisecond' "
+            + "WHERE node_id = (SELECT node_id FROM document_node_lease WHERE expires_at < now() "
+            + "ORDER BY expires_at LIMIT 1 FOR UPDATE SKIP LOCKED) "
+            + "RETURNING node_id";
+    private static final String RENEW_SQL = "UPDATE document_node_lease "
+            + "SET expires_at = now() + ? * INTERVAL '1 millisecond' WHERE node_id = ? AND owner = ?";
+    private static final String RELEASE_SQL = "UPDATE document_node_lease "
+            + "SET owner = NULL, expires_at = now() WHERE node_id = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    // Аренда меняется под блокировкой с запросом к БД: synchronized закрепил бы виртуальный поток за носителем
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Integer nodeId;
+    private volatile SnowflakeUniqueNumberGenerator generator;
+    // System.nanoTime(), до которого аренда гарантированно наша
+    private volatile long validUntilNanos;
+    private volatile boolean lost;
+
+    public NodeLease(JdbcTemplate jdbcTemplate, Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Берёт узел с самой давно истёкшей арендой. SKIP LOCKED разводит одновременно стартующие экземпляры.
+     */
+    public int acquire() {
+        lock.lock();
+        try {
+            long start = System.nanoTime();
+            List<Integer> leased = jdbcTemplate.queryForList(ACQUIRE_SQL, Integer.class, owner, ttl.toMillis());
+            if (leased.isEmpty()) {
+                throw new IllegalStateException(
+                        "No free unique number node id: all leases in document_node_lease are held");
+            }
+            int node = leased.get(0);
+            // Тот же узел — тот же генератор: новый начал бы счётчик миллисекунды заново
+            if (generator == null || nodeId == null || nodeId != node) {
+                generator = new SnowflakeUniqueNumberGenerator(node);
+            }
+            nodeId = node;
+            validUntilNanos = start + ttl.toNanos();
+            lost = false;
+            log.info("Leased unique number node id {} as {}", node, owner);
+            return node;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Номер от генератора текущего арендованного узла.
+     */
+    public String next() {
+        check();
+        return generator.next();
+    }
+
+    @Scheduled(fixedDelayString = "${document.unique-number.heartbeat-interval:20000}",
+            initialDelayString = "${document.unique-number.heartbeat-interval:20000}")
+    public void renew() {
+        lock.lock();
+        try {
+            Integer node = nodeId;
+            if (node == null) {
+                return;
+            }
+            if (lost) {
+                reacquire();
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                int updated = jdbcTemplate.update(RENEW_SQL, ttl.toMillis(), node, owner);
+                if (updated == 0) {
+                    lost = true;
+                    log.error("Unique number node id {} was leased by another instance; leasing another node", node);
+                    reacquire();
+                    return;
+                }
+                validUntilNanos = start + ttl.toNanos();
+            } catch (RuntimeException e) {
+                log.warn("Failed to renew unique number node id {} lease: {}", node, e.getMessage());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Проверка перед выдачей номера: без действующей аренды номер мог бы совпасть с номером другого экземпляра.
+     * Потерянная или истёкшая аренда заменяется свободным узлом; исключение — только если его нет.
+     */
+    public void check() {
+        if (nodeId != null && !isHeld()) {
+            reacquire();
+            if (!isHeld()) {
+                throw new IllegalStateException("Unique number node id " + nodeId + " lease is not held");
+            }
+        }
+    }
+
+    private boolean isHeld() {
+        return !lost && System.nanoTime() - validUntilNanos <= 0;
+    }
+
+    private void reacquire() {
+        lock.lock();
+        try {
+            if (!isHeld()) {
+                acquire();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to lease a unique number node id: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        Integer node = nodeId;
+        if (node == null) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(RELEASE_SQL, node, owner);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release unique number node id {} lease: {}", node, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.itqgroup.service.numbering;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Номер в духе Snowflake: 41 бит миллисекунд от {@link #EPOCH_MILLIS}, 10 бит узла, 12 бит счётчика
+ * внутри миллисекунды. Уникальность между экземплярами даёт номер узла, внутри экземпляра —
+ * монотонное состояние (миллисекунда, счётчик): переполнение счётчика занимает следующую миллисекунду,
+ * а при переводе часов назад номера продолжают расти от последнего выданного.
+ * Номер кодируется в base36 фиксированной ширины, поэтому строки сортируются по времени выдачи.
+ */
+public class SnowflakeUniqueNumberGenerator implements UniqueNumberGenerator {
+
+    // 2024-01-01T00:00:00Z: 41 бита хватает примерно до 2093 года
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    static final int NODE_BITS = 10;
+    static final int COUNTER_BITS = 12;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final String PREFIX = "DOC-";
+    // Long.MAX_VALUE в base36 — 13 знаков
+    private static final int DIGITS = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private final long node;
+    private final LongSupplier clock;
+
+    // (миллисекунды от эпохи << COUNTER_BITS) | счётчик
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeUniqueNumberGenerator(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    SnowflakeUniqueNumberGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    @Override
+    public String next() {
+        return encode(nextValue());
+    }
+
+    long nextValue() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        long current = state.updateAndGet(previous ->
+                now > previous >>> COUNTER_BITS ? now << COUNTER_BITS : previous + 1);
+        long millis = current >>> COUNTER_BITS;
+        long counter = current & ((1L << COUNTER_BITS) - 1);
+        return millis << (NODE_BITS + COUNTER_BITS) | node << COUNTER_BITS | counter;
+    }
+
+    static String encode(long value) {
+        char[] chars = new char[PREFIX.length() + DIGITS];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (value % ALPHABET.length)];
+            value /= ALPHABET.length;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,10 @@
+package com.itqgroup.service.numbering;
+
+/**
+ * Стратегия выдачи unique_number документов. Номер должен быть уникален между всеми экземплярами
+ * сервиса без обращения к БД на каждый документ. Своя реализация подключается бином с @Primary.
+ */
+public interface UniqueNumberGenerator {
+
+    String next();
+}
@@ -0,0 +1,24 @@
+package com.itqgroup.service.numbering;
+
+import com.itqgroup.service.model.Document;
+import jakarta.persistence.PrePersist;
+
+/**
+ * Присваивает номер документу, сохраняемому через JPA. Экземпляр создаёт Spring
+ * (SpringBeanContainer Hibernate), поэтому генератор внедряется через конструктор.
+ */
+public class UniqueNumberListener {
+
+    private final UniqueNumberGenerator generator;
+
+    public UniqueNumberListener(UniqueNumberGenerator generator) {
+        this.generator = generator;
+    }
+
+    @PrePersist
+    public void assignUniqueNumber(Document document) {
+        if (document.getUniqueNumber() == null) {
+            document.setUniqueNumber(generator.next());
+        }
+    }
+}
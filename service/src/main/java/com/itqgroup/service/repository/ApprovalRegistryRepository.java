@@ -2,8 +2,12 @@ package com.itqgroup.service.repository;
 
 import com.itqgroup.service.model.ApprovalRegistry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,7 @@ public interface ApprovalRegistryRepository extends JpaRepository<ApprovalRegist
     Optional<ApprovalRegistry> findByDocumentId(Long documentId);
 
     boolean existsByDocumentId(Long documentId);
+
+    @Query("SELECT r.documentId FROM ApprovalRegistry r WHERE r.documentId IN :documentIds")
+    List<Long> findDocumentIdsByDocumentIdIn(@Param("documentIds") Collection<Long> documentIds);
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.itqgroup.service.repository;
+
+import com.itqgroup.service.dto.DocumentCreateRequest;
+import com.itqgroup.service.dto.DocumentSummary;
+import com.itqgroup.service.model.IdSequences;
+import com.itqgroup.service.model.enums.DocumentAction;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.numbering.UniqueNumberGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class DocumentBatchRepository {
+
+    private static final String INSERT_DOCUMENT_SQL =
+            "INSERT INTO document (id, unique_number, author, title, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO document_history (id, document_id, action, user_id, comment, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_REGISTRY_SQL =
+            "INSERT INTO approval_registry (id, document_id, approved_at, approved_by) VALUES (?, ?, ?, ?)";
+
+    private static final String UPDATE_STATUS_SQL = "UPDATE document SET status = ?, updated_at = ? WHERE id IN (";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+    private final UniqueNumberGenerator uniqueNumberGenerator;
+
+    @Value("${document.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    /**
+     * Новые документы в статусе DRAFT одним пакетом, без сущностей и колбэков JPA.
+     */
+    public List<DocumentSummary> insertDocuments(List<DocumentCreateRequest> requests, LocalDateTime createdAt) {
+        long[] ids = idAllocator.allocate(IdSequences.DOCUMENT, requests.size());
+        List<DocumentSummary> documents = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            DocumentCreateRequest request = requests.get(i);
+            documents.add(new DocumentSummary(ids[i], uniqueNumberGenerator.next(), request.getAuthor(),
+                    request.getTitle(), DocumentStatus.DRAFT, createdAt, createdAt));
+        }
+
+        Timestamp ts = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(INSERT_DOCUMENT_SQL, documents, jdbcBatchSize, (ps, document) -> {
+            ps.setLong(1, document.id());
+            ps.setString(2, document.uniqueNumber());
+            ps.setString(3, document.author());
+            ps.setString(4, document.title());
+            ps.setString(5, document.status().name());
+            ps.setTimestamp(6, ts);
+            ps.setTimestamp(7, ts);
+        });
+        return documents;
+    }
+
+    /**
+     * Переводит документы в статус одним запросом. Идёт мимо EntityManager, поэтому ошибка внутри точки
+     * сохранения не помечает транзакцию JPA на откат; загруженные сущности после этого устаревают.
+     */
+    public int updateStatus(Collection<Long> documentIds, DocumentStatus status, LocalDateTime updatedAt) {
+        List<Object> args = new ArrayList<>(documentIds.size() + 2);
+        args.add(status.name());
+        args.add(Timestamp.valueOf(updatedAt));
+        args.addAll(documentIds);
+        String sql = UPDATE_STATUS_SQL + String.join(", ", Collections.nCopies(documentIds.size(), "?")) + ")";
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    public void insertHistory(Collection<Long> documentIds, DocumentAction action,
+                              String userId, String comment, LocalDateTime timestamp) {
+        Timestamp ts = Timestamp.valueOf(timestamp);
+        jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, withIds(IdSequences.DOCUMENT_HISTORY, documentIds),
+                jdbcBatchSize, (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setLong(2, row.documentId());
+                    ps.setString(3, action.name());
+                    ps.setString(4, userId);
+                    ps.setString(5, comment);
+                    ps.setTimestamp(6, ts);
+                });
+    }
+
+    public void insertRegistry(Collection<Long> documentIds, String approvedBy, LocalDateTime approvedAt) {
+        Timestamp ts = Timestamp.valueOf(approvedAt);
+        jdbcTemplate.batchUpdate(INSERT_REGISTRY_SQL, withIds(IdSequences.APPROVAL_REGISTRY, documentIds),
+                jdbcBatchSize, (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setLong(2, row.documentId());
+                    ps.setTimestamp(3, ts);
+                    ps.setString(4, approvedBy);
+                });
+    }
+
+    private List<Row> withIds(String sequenceName, Collection<Long> documentIds) {
+        long[] ids = idAllocator.allocate(sequenceName, documentIds.size());
+        List<Row> rows = new ArrayList<>(documentIds.size());
+        int i = 0;
+        for (Long documentId : documentIds) {
+            rows.add(new Row(ids[i++], documentId));
+        }
+        return rows;
+    }
+
+    private record Row(long id, long documentId) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.itqgroup.service.repository;
+
+import com.itqgroup.service.dto.DocumentJobItemResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Элементы задач: списки в сотни тысяч id пишутся и читаются пакетами JDBC, без сущностей.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DocumentJobItemRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO document_job_item (job_id, item_no, document_id) VALUES (?, ?, ?)";
+
+    private static final String UPDATE_RESULT_SQL =
+            "UPDATE document_job_item SET status = ?, message = ? WHERE job_id = ? AND item_no = ?";
+
+    private static final String SELECT_SQL = "SELECT item_no, document_id, status, message FROM document_job_item "
+            + "WHERE job_id = ? AND item_no >= ? ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${document.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    public void insertItems(UUID jobId, List<Long> documentIds) {
+        List<Integer> itemNos = new ArrayList<>(documentIds.size());
+        for (int i = 0; i < documentIds.size(); i++) {
+            itemNos.add(i);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, itemNos, jdbcBatchSize, (ps, itemNo) -> {
+            ps.setObject(1, jobId);
+            ps.setInt(2, itemNo);
+            ps.setLong(3, documentIds.get(itemNo));
+        });
+    }
+
+    /**
+     * Элементы начиная с позиции fromItemNo, по порядку.
+     */
+    public List<DocumentJobItemResponse> findFrom(UUID jobId, int fromItemNo, int limit) {
+        return jdbcTemplate.query(SELECT_SQL + "ORDER BY item_no LIMIT ?",
+                (rs, rowNum) -> toResponse(rs.getInt(1), rs.getLong(2), rs.getString(3), rs.getString(4)),
+                jobId, fromItemNo, limit);
+    }
+
+    public List<DocumentJobItemResponse> findFromWithStatus(UUID jobId, int fromItemNo, String status, int limit) {
+        return jdbcTemplate.query(SELECT_SQL + "AND status = ? ORDER BY item_no LIMIT ?",
+                (rs, rowNum) -> toResponse(rs.getInt(1), rs.getLong(2), rs.getString(3), rs.getString(4)),
+                jobId, fromItemNo, status, limit);
+    }
+
+    public void saveResults(UUID jobId, List<DocumentJobItemResponse> results) {
+        jdbcTemplate.batchUpdate(UPDATE_RESULT_SQL, results, jdbcBatchSize, (ps, result) -> {
+            ps.setString(1, result.getStatus());
+            ps.setString(2, result.getMessage());
+            ps.setObject(3, jobId);
+            ps.setInt(4, result.getIndex());
+        });
+    }
+
+    public Map<String, Long> countByStatus(UUID jobId) {
+        Map<String, Long> counts = new TreeMap<>();
+        jdbcTemplate.query("SELECT status, count(*) FROM document_job_item WHERE job_id = ? AND status IS NOT NULL "
+                        + "GROUP BY status",
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                },
+                jobId);
+        return counts;
+    }
+
+    private static DocumentJobItemResponse toResponse(int itemNo, long documentId, String status, String message) {
+        return DocumentJobItemResponse.builder()
+                .index(itemNo)
+                .documentId(documentId)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.itqgroup.service.repository;
+
+import com.itqgroup.service.model.DocumentJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DocumentJobRepository extends JpaRepository<DocumentJob, UUID> {
+
+    // Задачи к запуску: в очереди или RUNNING без признаков жизни (экземпляр, который их вёл, остановился)
+    @Query("SELECT j.id FROM DocumentJob j WHERE j.status = com.itqgroup.service.model.enums.JobStatus.QUEUED "
+            + "OR (j.status = com.itqgroup.service.model.enums.JobStatus.RUNNING AND j.heartbeatAt < :staleBefore) "
+            + "ORDER BY j.createdAt")
+    List<UUID> findRunnableIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // Захват задачи одним UPDATE: из нескольких экземпляров её получает только один
+    @Modifying
+    @Query("UPDATE DocumentJob j SET j.status = com.itqgroup.service.model.enums.JobStatus.RUNNING, "
+            + "j.heartbeatAt = :now, j.startedAt = COALESCE(j.startedAt, :now) "
+            + "WHERE j.id = :id AND (j.status = com.itqgroup.service.model.enums.JobStatus.QUEUED "
+            + "OR (j.status = com.itqgroup.service.model.enums.JobStatus.RUNNING AND j.heartbeatAt < :staleBefore))")
+    int claim(@Param("id") UUID id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE DocumentJob j SET j.processed = j.processed + :processed, j.succeeded = j.succeeded + :succeeded, "
+            + "j.failed = j.failed + :failed, j.heartbeatAt = :now WHERE j.id = :id")
+    int recordProgress(@Param("id") UUID id,
+                       @Param("processed") int processed,
+                       @Param("succeeded") int succeeded,
+                       @Param("failed") int failed,
+                       @Param("now") LocalDateTime now);
+}
@@ -6,16 +6,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DocumentRepository extends JpaRepository<Document, Long> {
+public interface DocumentRepository extends JpaRepository<Document, Long>, DocumentSearchRepository {
 
     Optional<Document> findByUniqueNumber(String uniqueNumber);
 
@@ -25,32 +28,25 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     @Query("SELECT d FROM Document d WHERE d.id = :id")
     Optional<Document> findByIdWithLock(@Param("id") Long id);
 
+    // Пакетная обработка: все документы запроса одним запросом, порядок по id исключает взаимные блокировки
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Document d WHERE d.id IN :ids ORDER BY d.id")
+    List<Document> findAllByIdInWithLock(@Param("ids") Collection<Long> ids);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT d FROM Document d WHERE d.status = :status ORDER BY d.createdAt")
     List<Document> findAndLockByStatus(@Param("status") DocumentStatus status, Pageable pageable);
 
-    // Для поиска (задание 5)
-    List<Document> findByStatusAndAuthorAndCreatedAtBetween(
-            DocumentStatus status,
-            String author,
-            LocalDateTime from,
-            LocalDateTime to,
-            Pageable pageable);
-
-    List<Document> findByStatusAndCreatedAtBetween(
-            DocumentStatus status,
-            LocalDateTime from,
-            LocalDateTime to,
-            Pageable pageable);
-
-    List<Document> findByAuthorAndCreatedAtBetween(
-            String author,
-            LocalDateTime from,
-            LocalDateTime to,
-            Pageable pageable);
-
-    List<Document> findByCreatedAtBetween(
-            LocalDateTime from,
-            LocalDateTime to,
-            Pageable pageable);
-}
\ No newline at end of file
+    // Захват пачки воркером: FOR UPDATE SKIP LOCKED (timeout -2), строки, занятые другими экземплярами, пропускаются
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM Document d WHERE d.status = :status ORDER BY d.createdAt")
+    List<Document> claimByStatus(@Param("status") DocumentStatus status, Pageable pageable);
+
+    @Query("SELECT MIN(d.createdAt) FROM Document d WHERE d.status = :status")
+    Optional<LocalDateTime> findOldestCreatedAt(@Param("status") DocumentStatus status);
+
+    // Версия для условного GET: только updated_at по первичному ключу, без сущности и истории
+    @Query("SELECT d.updatedAt FROM Document d WHERE d.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+}
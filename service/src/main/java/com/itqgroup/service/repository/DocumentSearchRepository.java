@@ -0,0 +1,25 @@
+package com.itqgroup.service.repository;
+
+import com.itqgroup.service.dto.DocumentSummary;
+import com.itqgroup.service.model.Document;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface DocumentSearchRepository {
+
+    /**
+     * Поиск по произвольной комбинации фильтров сразу в проекцию: сущности не загружаются
+     * в контекст персистентности, история не трогается.
+     */
+    List<DocumentSummary> searchSummaries(Specification<Document> filter, Pageable pageable);
+
+    /**
+     * То же в виде потока на серверном курсоре: строки читаются порциями по fetchSize,
+     * поэтому память не зависит от размера выборки. Поток нужно закрыть внутри транзакции.
+     */
+    Stream<DocumentSummary> streamSummaries(Specification<Document> filter, Sort sort, int fetchSize);
+}
@@ -0,0 +1,66 @@
+package com.itqgroup.service.repository;
+
+import com.itqgroup.service.dto.DocumentSummary;
+import com.itqgroup.service.model.Document;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+class DocumentSearchRepositoryImpl implements DocumentSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<DocumentSummary> searchSummaries(Specification<Document> filter, Pageable pageable) {
+        TypedQuery<DocumentSummary> query = createQuery(filter, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<DocumentSummary> streamSummaries(Specification<Document> filter, Sort sort, int fetchSize) {
+        return createQuery(filter, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<DocumentSummary> createQuery(Specification<Document> filter, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DocumentSummary> query = cb.createQuery(DocumentSummary.class);
+        Root<Document> root = query.from(Document.class);
+
+        query.select(cb.construct(DocumentSummary.class,
+                root.get("id"),
+                root.get("uniqueNumber"),
+                root.get("author"),
+                root.get("title"),
+                root.get("status"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+
+        Predicate predicate = filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+}
@@ -0,0 +1,62 @@
+package com.itqgroup.service.repository;
+
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Фильтры поиска документов. В запрос попадают только заданные условия,
+ * без подстановки LocalDateTime.MIN/MAX вместо отсутствующих границ.
+ */
+public final class DocumentSpecifications {
+
+    private DocumentSpecifications() {
+    }
+
+    public static Specification<Document> filter(DocumentStatus status, String author,
+                                                 LocalDateTime createdFrom, LocalDateTime createdTo) {
+        return Specification.allOf(
+                hasStatus(status),
+                hasAuthor(author),
+                createdFrom(createdFrom),
+                createdTo(createdTo));
+    }
+
+    public static Specification<Document> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Document> hasStatus(DocumentStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Document> hasAuthor(String author) {
+        return (root, query, cb) -> author == null ? null : cb.equal(root.get("author"), author);
+    }
+
+    public static Specification<Document> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Document> createdTo(LocalDateTime to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.get("createdAt"), to);
+    }
+
+    /**
+     * Keyset-условие для порядка created_at DESC, id DESC: строки строго после (createdAt, id).
+     * Избыточное created_at <= createdAt даёт планировщику границу индекса: по одному OR он
+     * читал бы индекс с начала и отбрасывал строки фильтром.
+     */
+    public static Specification<Document> after(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> createdAt == null ? null : cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+                cb.or(
+                        cb.lessThan(root.get("createdAt"), createdAt),
+                        cb.and(
+                                cb.equal(root.get("createdAt"), createdAt),
+                                cb.lessThan(root.get("id"), id))));
+    }
+}
@@ -0,0 +1,24 @@
+package com.itqgroup.service.repository;
+
+import com.itqgroup.service.model.DocumentStatusCounter;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DocumentStatusCounterRepository extends JpaRepository<DocumentStatusCounter, DocumentStatusCounter.Key> {
+
+    // Десятки строк счётчиков вместо count(*) по document
+    @Query("SELECT c.status AS status, SUM(c.documentCount) AS documentCount "
+            + "FROM DocumentStatusCounter c GROUP BY c.status")
+    List<StatusCount> sumByStatus();
+
+    interface StatusCount {
+        DocumentStatus getStatus();
+
+        long getDocumentCount();
+    }
+}
@@ -1,13 +1,22 @@
 package com.itqgroup.service.repository;
 
+import com.itqgroup.service.dto.HistoryEntry;
 import com.itqgroup.service.model.DocumentHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface HistoryRepository extends JpaRepository<DocumentHistory, Long> {
 
     List<DocumentHistory> findByDocumentIdOrderByTimestampDesc(Long documentId);
+
+    // История целой страницы документов одним запросом, сразу в проекцию — без сущностей и ленивых прокси
+    @Query("SELECT new com.itqgroup.service.dto.HistoryEntry(h.document.id, h.id, h.action, h.userId, h.comment, h.timestamp) "
+            + "FROM DocumentHistory h WHERE h.document.id IN :documentIds ORDER BY h.timestamp, h.id")
+    List<HistoryEntry> findEntriesByDocumentIdIn(@Param("documentIds") Collection<Long> documentIds);
 }
\ No newline at end of file
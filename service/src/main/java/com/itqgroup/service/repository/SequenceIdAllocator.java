@@ -0,0 +1,51 @@
+package com.itqgroup.service.repository;
+
+import com.itqgroup.service.model.IdSequences;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Выдаёт идентификаторы для JDBC-вставок так же, как оптимизатор pooled-lo в Hibernate:
+ * каждое значение nextval резервирует диапазон [value, value + ALLOCATION_SIZE).
+ * Поэтому сущности и пакетные вставки берут id из одной последовательности без пересечений.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public long[] allocate(String sequenceName, int count) {
+        Block block = blocks.computeIfAbsent(sequenceName, name -> new Block());
+        long[] ids = new long[count];
+
+        // ReentrantLock, а не synchronized: nextval под монитором закрепил бы виртуальный поток за носителем
+        block.lock.lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                if (block.next == block.hi) {
+                    Long lo = jdbcTemplate.queryForObject("SELECT nextval('" + sequenceName + "')", Long.class);
+                    block.next = lo;
+                    block.hi = lo + IdSequences.ALLOCATION_SIZE;
+                }
+                ids[i] = block.next++;
+            }
+        } finally {
+            block.lock.unlock();
+        }
+        return ids;
+    }
+
+    private static final class Block {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long hi;
+    }
+}
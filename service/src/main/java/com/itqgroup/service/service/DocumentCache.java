@@ -0,0 +1,53 @@
+package com.itqgroup.service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itqgroup.service.dto.DocumentResponse;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Кэш GET /api/documents/{id} перед DocumentService.getDocumentWithHistory: попадание не открывает
+ * транзакцию и не берёт соединение. Кэшируются только утверждённые документы: они больше не меняются,
+ * поэтому кэш не нужно сбрасывать ни на этом экземпляре, ни на других. DRAFT и SUBMITTED
+ * переводят и другие экземпляры, их ответ всегда читается из БД.
+ */
+@Component
+@Slf4j
+public class DocumentCache {
+
+    private final DocumentService documentService;
+    private final Cache<Long, DocumentResponse> cache;
+
+    public DocumentCache(DocumentService documentService,
+                         MeterRegistry meterRegistry,
+                         @Value("${document.cache.max-size:10000}") long maxSize,
+                         @Value("${document.cache.approved-ttl:24h}") Duration approvedTtl) {
+        this.documentService = documentService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(approvedTtl)
+                .recordStats()
+                .build();
+        // cache_gets_total{result=hit|miss}, cache_evictions_total, cache_size
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "documents");
+    }
+
+    public DocumentResponse getDocumentWithHistory(Long id) {
+        DocumentResponse cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        DocumentResponse document = documentService.getDocumentWithHistory(id);
+        if (document.getStatus() == DocumentStatus.APPROVED) {
+            cache.put(id, document);
+        }
+        return document;
+    }
+}
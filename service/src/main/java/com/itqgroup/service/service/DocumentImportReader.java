@@ -0,0 +1,205 @@
+package com.itqgroup.service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.itqgroup.service.dto.DocumentCreateRequest;
+import com.itqgroup.service.dto.ImportJobResponse;
+import com.itqgroup.service.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Построчное чтение файла импорта: NDJSON (документ на строку) или CSV с заголовком,
+ * в котором есть колонки author и title. Ошибка в строке не прерывает чтение — строка отклоняется.
+ * Запись длиннее maxRecordLength символов тоже отклоняется: незакрытая кавычка в CSV
+ * иначе склеила бы в одну запись весь остаток файла.
+ */
+final class DocumentImportReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final ImportJobResponse.Format format;
+    private final ObjectReader json;
+    private final int maxRecordLength;
+
+    // Номер последней прочитанной физической строки файла
+    private long line;
+    private int authorColumn = -1;
+    private int titleColumn = -1;
+
+    private DocumentImportReader(BufferedReader reader, ImportJobResponse.Format format, ObjectReader json,
+                                 int maxRecordLength) {
+        this.reader = reader;
+        this.format = format;
+        this.json = json;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * @throws BadRequestException в CSV нет заголовка с колонками author и title
+     */
+    static DocumentImportReader open(Path file, ImportJobResponse.Format format, ObjectMapper objectMapper,
+                                     int maxRecordLength) throws IOException {
+        DocumentImportReader importReader = new DocumentImportReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), format,
+                objectMapper.readerFor(DocumentCreateRequest.class), maxRecordLength);
+        if (format == ImportJobResponse.Format.CSV) {
+            try {
+                importReader.readHeader();
+            } catch (IOException | RuntimeException e) {
+                importReader.close();
+                throw e;
+            }
+        }
+        return importReader;
+    }
+
+    /**
+     * @return следующая непустая запись или null в конце файла
+     */
+    ImportRow next() throws IOException {
+        long start = line + 1;
+        String record = readRecord();
+        while (record != null && record.isBlank()) {
+            start = line + 1;
+            record = readRecord();
+        }
+        if (record == null) {
+            return null;
+        }
+        if (record.length() > maxRecordLength) {
+            return ImportRow.rejected(start, "Record is longer than " + maxRecordLength + " characters");
+        }
+        return format == ImportJobResponse.Format.NDJSON ? parseJson(start, record) : parseCsv(start, record);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header = readRecord();
+        if (header != null) {
+            List<String> columns = splitCsv(header);
+            for (int i = 0; i < columns.size(); i++) {
+                String column = columns.get(i).trim().toLowerCase(Locale.ROOT);
+                if (column.equals("author")) {
+                    authorColumn = i;
+                } else if (column.equals("title")) {
+                    titleColumn = i;
+                }
+            }
+        }
+        if (authorColumn < 0 || titleColumn < 0) {
+            throw new BadRequestException("CSV header must contain author and title columns");
+        }
+    }
+
+    private ImportRow parseJson(long start, String record) {
+        try {
+            DocumentCreateRequest document = json.readValue(record);
+            return document == null
+                    ? ImportRow.rejected(start, "Document is required")
+                    : new ImportRow(start, document, null);
+        } catch (JsonProcessingException e) {
+            return ImportRow.rejected(start, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportRow parseCsv(long start, String record) {
+        List<String> fields = splitCsv(record);
+        int required = Math.max(authorColumn, titleColumn) + 1;
+        if (fields.size() < required) {
+            return ImportRow.rejected(start, "Expected at least " + required + " columns, got " + fields.size());
+        }
+        DocumentCreateRequest document = new DocumentCreateRequest();
+        document.setAuthor(fields.get(authorColumn));
+        document.setTitle(fields.get(titleColumn));
+        return new ImportRow(start, document, null);
+    }
+
+    /**
+     * Запись NDJSON — одна строка; запись CSV продолжается на следующих строках,
+     * пока не закрыто поле в кавычках или запись не превысила maxRecordLength.
+     * Каждая кавычка переключает состояние, поэтому каждая строка сканируется один раз.
+     */
+    private String readRecord() throws IOException {
+        String first = reader.readLine();
+        if (first == null) {
+            return null;
+        }
+        line++;
+        if (format != ImportJobResponse.Format.CSV || !hasOddQuotes(first)) {
+            return first;
+        }
+        StringBuilder record = new StringBuilder(first);
+        boolean open = true;
+        while (open && record.length() <= maxRecordLength) {
+            String continuation = reader.readLine();
+            if (continuation == null) {
+                break;
+            }
+            line++;
+            record.append('\n').append(continuation);
+            open = hasOddQuotes(continuation) != open;
+        }
+        return record.toString();
+    }
+
+    private static boolean hasOddQuotes(String text) {
+        boolean odd = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                odd = !odd;
+            }
+        }
+        return odd;
+    }
+
+    static List<String> splitCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Запись файла: документ либо причина отказа.
+     */
+    record ImportRow(long line, DocumentCreateRequest document, String error) {
+
+        static ImportRow rejected(long line, String error) {
+            return new ImportRow(line, null, error);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.itqgroup.service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itqgroup.service.config.TaskThreads;
+import com.itqgroup.service.dto.DocumentCreateRequest;
+import com.itqgroup.service.dto.ImportJobResponse;
+import com.itqgroup.service.exception.BadRequestException;
+import com.itqgroup.service.model.IdSequences;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.numbering.UniqueNumberGenerator;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Импорт больших объёмов документов через COPY ... FROM STDIN (PgJDBC CopyManager), минуя JPA.
+ * Тело запроса сохраняется во временный файл, импорт идёт в фоне: частями по commitSize строк,
+ * каждая часть — один COPY и свой коммит. Только для PostgreSQL.
+ * Состояние задач хранится в памяти и удаляется через document.import.retention после завершения.
+ */
+@Service
+@Slf4j
+public class DocumentImportService {
+
+    private static final String COPY_SQL = "COPY document (id, unique_number, author, title, status, created_at, updated_at) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    // Каждое значение резервирует ALLOCATION_SIZE id (pooled-lo, как SequenceIdAllocator), все блоки — одним запросом
+    private static final String NEXT_BLOCKS_SQL =
+            "SELECT nextval('" + IdSequences.DOCUMENT + "') FROM generate_series(1, ?)";
+
+    // Буфер строк CSV перед отправкой в COPY
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UniqueNumberGenerator uniqueNumberGenerator;
+    private final ExecutorService executor;
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${document.import.commit-size:100000}")
+    private int commitSize;
+
+    @Value("${document.import.max-errors:100}")
+    private int maxErrors;
+
+    @Value("${document.import.max-record-length:65536}")
+    private int maxRecordLength;
+
+    @Value("${document.import.max-size:10GB}")
+    private DataSize maxSize;
+
+    @Value("${document.import.retention:24h}")
+    private Duration retention;
+
+    public DocumentImportService(DataSource dataSource, ObjectMapper objectMapper, Validator validator,
+                                 UniqueNumberGenerator uniqueNumberGenerator,
+                                 TaskThreads taskThreads,
+                                 @Value("${document.import.threads:1}") int threads) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.uniqueNumberGenerator = uniqueNumberGenerator;
+        this.executor = taskThreads.newExecutor("document-import", threads);
+    }
+
+    /**
+     * Сохраняет тело запроса и ставит импорт в очередь.
+     *
+     * @throws BadRequestException в CSV нет колонок author и title или тело больше document.import.max-size
+     */
+    public ImportJobResponse startImport(InputStream body, ImportJobResponse.Format format) throws IOException {
+        Path file = Files.createTempFile("document-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        try {
+            spool(body, file);
+            // Заголовок CSV проверяется сразу, чтобы ошибка вернулась клиенту, а не в статус задачи
+            DocumentImportReader.open(file, format, objectMapper, maxRecordLength).close();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(format, maxErrors);
+        jobs.put(job.id(), job);
+        log.info("Import {} of {} bytes ({}) queued", job.id(), Files.size(file), format);
+        executor.execute(() -> run(job, file));
+        return job.toResponse();
+    }
+
+    public Optional<ImportJobResponse> getImport(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::toResponse);
+    }
+
+    /**
+     * Удаляет из памяти задачи, завершённые раньше document.import.retention; их статус больше не доступен.
+     */
+    @Scheduled(fixedDelayString = "${document.import.purge-interval:600000}",
+            initialDelayString = "${document.import.purge-interval:600000}")
+    public void purgeFinishedImports() {
+        LocalDateTime finishedBefore = LocalDateTime.now().minus(retention);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.finishedBefore(finishedBefore));
+        if (jobs.size() < before) {
+            log.debug("Purged {} finished imports", before - jobs.size());
+        }
+    }
+
+    // Тело копируется с подсчётом байт: слишком большой запрос обрывается, не заполнив диск
+    private void spool(InputStream body, Path file) throws IOException {
+        long limit = maxSize.toBytes();
+        long total = 0;
+        byte[] buffer = new byte[COPY_BUFFER_CHARS];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > limit) {
+                    throw new BadRequestException("Import body exceeds the maximum of " + maxSize);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.start();
+        try (DocumentImportReader reader = DocumentImportReader.open(file, job.format(), objectMapper, maxRecordLength);
+             Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new IllegalStateException("COPY import requires PostgreSQL");
+            }
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                DocumentImportReader.ImportRow first = nextValid(reader, job);
+                while (first != null) {
+                    first = copyPart(connection, copyManager, reader, first, job);
+                    log.info("Import {}: {} rows committed, {} rejected, {} rows/s",
+                            job.id(), job.rowsImported(), job.rowsRejected(), Math.round(job.rowsPerSecond()));
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            job.complete();
+            log.info("Import {} completed: {} rows imported, {} rejected, {} rows/s",
+                    job.id(), job.rowsImported(), job.rowsRejected(), Math.round(job.rowsPerSecond()));
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            log.error("Import {} failed after {} rows: {}", job.id(), job.rowsImported(), e.getMessage(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete import file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Одна часть импорта: до commitSize строк одним COPY и коммит.
+     *
+     * @return первая корректная строка следующей части или null, если файл закончился
+     */
+    private DocumentImportReader.ImportRow copyPart(Connection connection, CopyManager copyManager,
+                                                    DocumentImportReader reader, DocumentImportReader.ImportRow first,
+                                                    ImportJob job) throws SQLException, IOException {
+        // id выделяются до начала COPY: пока он идёт, соединение занято протоколом копирования.
+        // Неиспользованный остаток последней части пропадает, как и хвост блока Hibernate.
+        long[] ids = allocateIds(connection, commitSize);
+        String timestamp = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).toString();
+        String status = DocumentStatus.DRAFT.name();
+
+        CopyIn copyIn = copyManager.copyIn(COPY_SQL);
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+            int rows = 0;
+            DocumentImportReader.ImportRow row = first;
+            while (row != null && rows < commitSize) {
+                long id = ids[rows++];
+                DocumentCreateRequest document = row.document();
+                buffer.append(id).append(',')
+                        .append(uniqueNumberGenerator.next()).append(',');
+                appendCsv(buffer, document.getAuthor()).append(',');
+                appendCsv(buffer, document.getTitle()).append(',')
+                        .append(status).append(',')
+                        .append(timestamp).append(',')
+                        .append(timestamp).append('\n');
+                if (buffer.length() >= COPY_BUFFER_CHARS) {
+                    write(copyIn, buffer);
+                }
+                row = rows < commitSize ? nextValid(reader, job) : null;
+            }
+            write(copyIn, buffer);
+            long copied = copyIn.endCopy();
+            connection.commit();
+            job.imported(copied);
+            return rows < commitSize ? null : nextValid(reader, job);
+        } catch (SQLException | IOException | RuntimeException e) {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    private DocumentImportReader.ImportRow nextValid(DocumentImportReader reader, ImportJob job) throws IOException {
+        DocumentImportReader.ImportRow row = reader.next();
+        while (row != null) {
+            String error = row.error() != null ? row.error() : violations(row.document());
+            if (error == null) {
+                return row;
+            }
+            job.rejected(row.line(), error);
+            row = reader.next();
+        }
+        return null;
+    }
+
+    private String violations(DocumentCreateRequest document) {
+        Set<ConstraintViolation<DocumentCreateRequest>> violations = validator.validate(document);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static long[] allocateIds(Connection connection, int count) throws SQLException {
+        int blocks = (count + IdSequences.ALLOCATION_SIZE - 1) / IdSequences.ALLOCATION_SIZE;
+        long[] ids = new long[blocks * IdSequences.ALLOCATION_SIZE];
+        int i = 0;
+        try (PreparedStatement statement = connection.prepareStatement(NEXT_BLOCKS_SQL)) {
+            statement.setInt(1, blocks);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    long lo = resultSet.getLong(1);
+                    for (int offset = 0; offset < IdSequences.ALLOCATION_SIZE; offset++) {
+                        ids[i++] = lo + offset;
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static StringBuilder appendCsv(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Import executor did not terminate in time, interrupting running imports");
+            executor.shutdownNow();
+        }
+    }
+}
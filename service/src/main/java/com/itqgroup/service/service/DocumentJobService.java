@@ -0,0 +1,300 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.config.TaskThreads;
+import com.itqgroup.service.dto.ApproveResult;
+import com.itqgroup.service.dto.DocumentActionRequest;
+import com.itqgroup.service.dto.DocumentJobItemResponse;
+import com.itqgroup.service.dto.DocumentJobRequest;
+import com.itqgroup.service.dto.DocumentJobResponse;
+import com.itqgroup.service.dto.SubmitResult;
+import com.itqgroup.service.exception.BadRequestException;
+import com.itqgroup.service.model.DocumentJob;
+import com.itqgroup.service.model.enums.DocumentAction;
+import com.itqgroup.service.model.enums.JobStatus;
+import com.itqgroup.service.repository.DocumentJobItemRepository;
+import com.itqgroup.service.repository.DocumentJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Отправка и утверждение списков любого размера фоновыми задачами. Задача и её элементы хранятся в БД,
+ * обработка идёт частями по chunkSize документов: результаты части и счётчики задачи коммитятся
+ * вместе с переходами документов, поэтому после перезапуска задача продолжается с первой необработанной части.
+ */
+@Service
+@Slf4j
+public class DocumentJobService {
+
+    private final DocumentJobRepository jobRepository;
+    private final DocumentJobItemRepository itemRepository;
+    private final DocumentService documentService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int capacity;
+
+    // Задачи, уже отданные пулу этого экземпляра
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    @Value("${document.job.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${document.job.max-ids:1000000}")
+    private int maxIds;
+
+    @Value("${document.job.stale-after:300000}")
+    private long staleAfterMillis;
+
+    public DocumentJobService(DocumentJobRepository jobRepository,
+                              DocumentJobItemRepository itemRepository,
+                              DocumentService documentService,
+                              PlatformTransactionManager transactionManager,
+                              TaskThreads taskThreads,
+                              @Value("${document.job.threads:2}") int threads,
+                              @Value("${document.job.queue-capacity:100}") int queueCapacity) {
+        this.jobRepository = jobRepository;
+        this.itemRepository = itemRepository;
+        this.documentService = documentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = taskThreads.newExecutor("document-job", threads);
+        // Ограниченная очередь: не поместившиеся задачи остаются QUEUED в БД и подхватываются опросом
+        this.capacity = threads + queueCapacity;
+    }
+
+    @Transactional
+    public DocumentJobResponse createJob(DocumentAction action, DocumentJobRequest request) {
+        List<Long> ids = request.getIds();
+        if (ids.size() > maxIds) {
+            throw new BadRequestException("Job of " + ids.size() + " documents exceeds the maximum of " + maxIds);
+        }
+        if (ids.contains(null)) {
+            throw new BadRequestException("Document IDs must not be null");
+        }
+
+        DocumentJob job = new DocumentJob();
+        job.setId(UUID.randomUUID());
+        job.setAction(action);
+        job.setStatus(JobStatus.QUEUED);
+        job.setUserId(request.getUserId());
+        job.setComment(request.getComment());
+        job.setTotal(ids.size());
+        job.setCreatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+        itemRepository.insertItems(job.getId(), ids);
+
+        UUID jobId = job.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(jobId);
+            }
+        });
+
+        log.info("{} job {} for {} documents by user {} queued", action, jobId, ids.size(), request.getUserId());
+        return toResponse(job, null);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DocumentJobResponse> getJob(UUID jobId) {
+        return jobRepository.findById(jobId).map(job -> toResponse(job,
+                job.getStatus() == JobStatus.COMPLETED || job.getStatus() == JobStatus.FAILED
+                        ? itemRepository.countByStatus(jobId)
+                        : null));
+    }
+
+    /**
+     * Результаты по элементам начиная с позиции from, по порядку; status отбирает только элементы с этим результатом.
+     */
+    @Transactional(readOnly = true)
+    public List<DocumentJobItemResponse> getJobResults(UUID jobId, int from, String status, int size) {
+        if (!jobRepository.existsById(jobId)) {
+            throw new RuntimeException("Job not found with id: " + jobId);
+        }
+        return status == null
+                ? itemRepository.findFrom(jobId, from, size)
+                : itemRepository.findFromWithStatus(jobId, from, status, size);
+    }
+
+    /**
+     * Запуск после старта и периодический опрос: задачи из очереди, не поместившиеся в пул,
+     * и задачи, прерванные остановкой экземпляра.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${document.job.poll-interval:10000}", initialDelayString = "${document.job.poll-interval:10000}")
+    public void dispatchPendingJobs() {
+        List<UUID> jobIds = jobRepository.findRunnableIds(staleBefore(LocalDateTime.now()));
+        jobIds.forEach(this::dispatch);
+    }
+
+    private void dispatch(UUID jobId) {
+        if (stopping || inFlight.contains(jobId)) {
+            return;
+        }
+        if (inFlight.size() >= capacity) {
+            log.debug("Job pool is full, job {} stays queued", jobId);
+            return;
+        }
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            // Пул уже остановлен
+            inFlight.remove(jobId);
+        }
+    }
+
+    private void run(UUID jobId) {
+        try {
+            if (stopping) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Integer claimed = transactionTemplate.execute(status -> jobRepository.claim(jobId, now, staleBefore(now)));
+            if (claimed == null || claimed == 0) {
+                return;
+            }
+
+            DocumentJob job = jobRepository.findById(jobId).orElseThrow();
+            log.info("{} job {} running from item {} of {}", job.getAction(), jobId, job.getProcessed(), job.getTotal());
+
+            int processed = job.getProcessed();
+            while (processed < job.getTotal()) {
+                if (stopping) {
+                    // Остановка экземпляра: задача вернётся в очередь и продолжится после запуска
+                    finish(jobId, JobStatus.QUEUED, null);
+                    log.info("Job {} requeued at item {} on shutdown", jobId, processed);
+                    return;
+                }
+                int from = processed;
+                Integer chunk = transactionTemplate.execute(status -> processChunk(job, from));
+                if (chunk == null || chunk == 0) {
+                    break;
+                }
+                processed += chunk;
+            }
+
+            finish(jobId, JobStatus.COMPLETED, null);
+            log.info("{} job {} completed: {} documents", job.getAction(), jobId, processed);
+        } catch (RuntimeException e) {
+            log.error("Job {} failed: {}", jobId, e.getMessage(), e);
+            finish(jobId, JobStatus.FAILED, e.getMessage());
+        } finally {
+            inFlight.remove(jobId);
+        }
+    }
+
+    /**
+     * Одна часть задачи в одной транзакции: переходы документов, результаты элементов и счётчики задачи.
+     *
+     * @return число обработанных элементов
+     */
+    private int processChunk(DocumentJob job, int from) {
+        List<DocumentJobItemResponse> items = itemRepository.findFrom(job.getId(), from, chunkSize);
+        if (items.isEmpty()) {
+            return 0;
+        }
+
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(items.stream().map(DocumentJobItemResponse::getDocumentId).collect(Collectors.toList()));
+        request.setUserId(job.getUserId());
+        request.setComment(job.getComment());
+
+        // Результаты сервиса идут в порядке id запроса
+        List<DocumentJobItemResponse> results = new ArrayList<>(items.size());
+        int succeeded = 0;
+        if (job.getAction() == DocumentAction.SUBMIT) {
+            List<SubmitResult> submitted = documentService.submitDocuments(request);
+            for (int i = 0; i < items.size(); i++) {
+                SubmitResult result = submitted.get(i);
+                results.add(withResult(items.get(i), result.getStatus().name(), result.getMessage()));
+                succeeded += result.getStatus() == SubmitResult.Status.SUCCESS ? 1 : 0;
+            }
+        } else {
+            List<ApproveResult> approved = documentService.approveDocuments(request);
+            for (int i = 0; i < items.size(); i++) {
+                ApproveResult result = approved.get(i);
+                results.add(withResult(items.get(i), result.getStatus().name(), result.getMessage()));
+                succeeded += result.getStatus() == ApproveResult.Status.SUCCESS ? 1 : 0;
+            }
+        }
+
+        itemRepository.saveResults(job.getId(), results);
+        jobRepository.recordProgress(job.getId(), items.size(), succeeded, items.size() - succeeded, LocalDateTime.now());
+        return items.size();
+    }
+
+    private LocalDateTime staleBefore(LocalDateTime now) {
+        return now.minus(Duration.ofMillis(staleAfterMillis));
+    }
+
+    private static DocumentJobItemResponse withResult(DocumentJobItemResponse item, String status, String message) {
+        return DocumentJobItemResponse.builder()
+                .index(item.getIndex())
+                .documentId(item.getDocumentId())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private void finish(UUID jobId, JobStatus status, String message) {
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setMessage(message);
+            job.setFinishedAt(status == JobStatus.QUEUED ? null : LocalDateTime.now());
+        }));
+    }
+
+    private static DocumentJobResponse toResponse(DocumentJob job, Map<String, Long> summary) {
+        return DocumentJobResponse.builder()
+                .jobId(job.getId())
+                .action(job.getAction())
+                .status(job.getStatus())
+                .userId(job.getUserId())
+                .total(job.getTotal())
+                .processed(job.getProcessed())
+                .succeeded(job.getSucceeded())
+                .failed(job.getFailed())
+                .message(job.getMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .summary(summary)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Job executor did not terminate in time, interrupting running jobs");
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.dto.ApproveResult;
+import com.itqgroup.service.dto.SubmitResult;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.repository.DocumentStatusCounterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Метрики горячих путей: время операций сервиса, результаты по статусам, захват пачек воркерами,
+ * глубина и отставание очередей. Счётчики и таймеры регистрируются заранее, поэтому запись — без поиска в реестре.
+ * Gauge очередей читают снимок, который обновляется раз в document.metrics.refresh-interval, а не запросом на каждый сбор.
+ * Число документов в статусе берётся из счётчиков, которые ведут триггеры (changeset 11), без count(*) по document.
+ */
+@Component
+@Slf4j
+public class DocumentMetrics {
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+    // Очереди воркеров: черновики ждут SubmitWorker, отправленные — ApproveWorker
+    private static final List<DocumentStatus> QUEUES = List.of(DocumentStatus.DRAFT, DocumentStatus.SUBMITTED);
+    // Имена SubmitWorker и ApproveWorker
+    private static final List<String> WORKERS = List.of("submit", "approve");
+
+    private final MeterRegistry meterRegistry;
+    private final DocumentRepository documentRepository;
+    private final DocumentStatusCounterRepository counterRepository;
+
+    private final Timer submitTimer;
+    private final Timer approveTimer;
+    private final Timer searchTimer;
+    private final DistributionSummary submitIds;
+    private final DistributionSummary approveIds;
+    private final DistributionSummary searchResults;
+    private final Map<SubmitResult.Status, Counter> submitResults = new EnumMap<>(SubmitResult.Status.class);
+    private final Map<ApproveResult.Status, Counter> approveResults = new EnumMap<>(ApproveResult.Status.class);
+    private final Map<String, ClaimMeters> claimMeters = new ConcurrentHashMap<>();
+
+    private volatile QueueSnapshot queues = QueueSnapshot.EMPTY;
+
+    public DocumentMetrics(MeterRegistry meterRegistry,
+                           DocumentRepository documentRepository,
+                           DocumentStatusCounterRepository counterRepository) {
+        this.meterRegistry = meterRegistry;
+        this.documentRepository = documentRepository;
+        this.counterRepository = counterRepository;
+
+        this.submitTimer = operationTimer("submit");
+        this.approveTimer = operationTimer("approve");
+        this.searchTimer = operationTimer("search");
+        this.submitIds = operationSize("submit");
+        this.approveIds = operationSize("approve");
+        this.searchResults = operationSize("search");
+
+        for (SubmitResult.Status status : SubmitResult.Status.values()) {
+            submitResults.put(status, resultCounter("submit", status.name()));
+        }
+        for (ApproveResult.Status status : ApproveResult.Status.values()) {
+            approveResults.put(status, resultCounter("approve", status.name()));
+        }
+        WORKERS.forEach(worker -> claimMeters.put(worker, claimMeters(worker)));
+
+        for (DocumentStatus status : DocumentStatus.values()) {
+            Gauge.builder("document.queue.depth", this, metrics -> metrics.queues.count(status))
+                    .description("Documents per status, refreshed every document.metrics.refresh-interval")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        for (DocumentStatus status : QUEUES) {
+            Gauge.builder("document.queue.lag", this, metrics -> metrics.queues.oldestAgeSeconds(status))
+                    .description("Age of the oldest document in the status, since its creation")
+                    .tag("status", status.name())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordSubmit(Timer.Sample sample, List<SubmitResult> results) {
+        sample.stop(submitTimer);
+        submitIds.record(results.size());
+        results.forEach(result -> submitResults.get(result.getStatus()).increment());
+    }
+
+    public void recordApprove(Timer.Sample sample, List<ApproveResult> results) {
+        sample.stop(approveTimer);
+        approveIds.record(results.size());
+        results.forEach(result -> approveResults.get(result.getStatus()).increment());
+    }
+
+    public void recordSearch(Timer.Sample sample, int found) {
+        sample.stop(searchTimer);
+        searchResults.record(found);
+    }
+
+    /**
+     * Захват пачки воркером: время запроса FOR UPDATE SKIP LOCKED и число захваченных документов.
+     */
+    public void recordClaim(String worker, long nanos, int claimed) {
+        ClaimMeters meters = claimMeters.computeIfAbsent(worker, this::claimMeters);
+        meters.timer().record(nanos, TimeUnit.NANOSECONDS);
+        meters.size().record(claimed);
+    }
+
+    @Scheduled(fixedDelayString = "${document.metrics.refresh-interval:15000}")
+    public void refreshQueues() {
+        Map<DocumentStatus, Long> counts = new EnumMap<>(DocumentStatus.class);
+        Map<DocumentStatus, LocalDateTime> oldest = new EnumMap<>(DocumentStatus.class);
+        counterRepository.sumByStatus().forEach(count -> counts.put(count.getStatus(), count.getDocumentCount()));
+        for (DocumentStatus status : QUEUES) {
+            // MIN(created_at) по индексу (status, created_at)
+            documentRepository.findOldestCreatedAt(status).ifPresent(createdAt -> oldest.put(status, createdAt));
+        }
+        queues = new QueueSnapshot(counts, oldest);
+        log.debug("Queue metrics refreshed: {}", counts);
+    }
+
+    private Timer operationTimer(String operation) {
+        return Timer.builder("document.operation")
+                .description("DocumentService submit/approve/search duration")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary operationSize(String operation) {
+        return DistributionSummary.builder("document.operation.size")
+                .description("IDs per submit/approve request, documents per search page")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private Counter resultCounter(String action, String status) {
+        return Counter.builder("document.action.results")
+                .description("Per-document results of submit and approve")
+                .tag("action", action)
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+
+    private ClaimMeters claimMeters(String worker) {
+        Timer timer = Timer.builder("document.worker.claim")
+                .description("Time to claim a batch with FOR UPDATE SKIP LOCKED")
+                .tag("worker", worker)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry);
+        DistributionSummary size = DistributionSummary.builder("document.worker.batch.size")
+                .description("Documents claimed per worker batch")
+                .tag("worker", worker)
+                .register(meterRegistry);
+        return new ClaimMeters(timer, size);
+    }
+
+    private record ClaimMeters(Timer timer, DistributionSummary size) {
+    }
+
+    private record QueueSnapshot(Map<DocumentStatus, Long> counts, Map<DocumentStatus, LocalDateTime> oldest) {
+
+        static final QueueSnapshot EMPTY = new QueueSnapshot(Map.of(), Map.of());
+
+        double count(DocumentStatus status) {
+            return counts.getOrDefault(status, 0L);
+        }
+
+        double oldestAgeSeconds(DocumentStatus status) {
+            LocalDateTime createdAt = oldest.get(status);
+            return createdAt == null ? 0 : Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMillis() / 1000.0);
+        }
+    }
+}
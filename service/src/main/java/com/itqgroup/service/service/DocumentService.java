@@ -1,33 +1,83 @@
 package com.itqgroup.service.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.itqgroup.service.dto.*;
-import com.itqgroup.service.model.ApprovalRegistry;
+import com.itqgroup.service.exception.BadRequestException;
 import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.enums.DocumentAction;
 import com.itqgroup.service.model.enums.DocumentStatus;
 import com.itqgroup.service.repository.ApprovalRegistryRepository;
+import com.itqgroup.service.repository.DocumentBatchRepository;
 import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.repository.DocumentSpecifications;
 import com.itqgroup.service.repository.HistoryRepository;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DocumentService {
 
+    // id замыкает порядок: created_at у документов может совпадать
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final DocumentRepository documentRepository;
     private final HistoryRepository historyRepository;
     private final ApprovalRegistryRepository registryRepository;
+    private final DocumentBatchRepository batchRepository;
+    private final SavepointTemplate savepointTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DocumentMetrics metrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${document.batch.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${document.export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    @Value("${document.batch.max-create-size:10000}")
+    private int maxCreateSize;
 
     @Transactional
     public DocumentResponse createDocument(DocumentCreateRequest request) {
@@ -40,17 +90,92 @@ public class DocumentService {
         Document savedDocument = documentRepository.save(document);
         log.info("Document created successfully with id: {}, number: {}", savedDocument.getId(), savedDocument.getUniqueNumber());
 
-        return mapToResponse(savedDocument);
+        return mapToResponse(DocumentSummary.of(savedDocument), List.of());
+    }
+
+    /**
+     * Массовое создание: каждый элемент проверяется отдельно, корректные вставляются пакетами JDBC
+     * с id из последовательности. Результаты — в порядке элементов запроса.
+     */
+    @Transactional
+    public List<CreateResult> createDocuments(List<DocumentCreateRequest> requests) {
+        log.info("Processing batch create of {} documents", requests.size());
+
+        if (requests.size() > maxCreateSize) {
+            throw new BadRequestException(
+                    "Batch of " + requests.size() + " documents exceeds the maximum of " + maxCreateSize);
+        }
+
+        List<CreateResult> results = new ArrayList<>(requests.size());
+        List<Integer> toCreate = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            DocumentCreateRequest request = requests.get(i);
+            Set<ConstraintViolation<DocumentCreateRequest>> violations =
+                    request == null ? Set.of() : validator.validate(request);
+            if (request == null) {
+                results.add(CreateResult.invalid(i, "Document is required"));
+            } else if (!violations.isEmpty()) {
+                results.add(CreateResult.invalid(i, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "))));
+            } else {
+                toCreate.add(i);
+                results.add(null);
+            }
+        }
+
+        if (!toCreate.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Integer, DocumentSummary> created = new HashMap<>();
+            writeInChunks(toCreate,
+                    chunk -> {
+                        List<DocumentCreateRequest> chunkRequests = chunk.stream()
+                                .map(requests::get)
+                                .collect(Collectors.toList());
+                        List<DocumentSummary> documents = batchRepository.insertDocuments(chunkRequests, now);
+                        for (int i = 0; i < chunk.size(); i++) {
+                            created.put(chunk.get(i), documents.get(i));
+                        }
+                    },
+                    index -> CreateResult.created(index, created.get(index)),
+                    (index, e) -> {
+                        log.error("Error creating document {}: {}", index, e.getMessage());
+                        return CreateResult.error(index, "Error: " + e.getMessage());
+                    })
+                    .forEach((index, result) -> results.set(index, result));
+        }
+
+        long createdCount = results.stream().filter(r -> r.getStatus() == CreateResult.Status.CREATED).count();
+        log.info("Batch create completed. Created: {}, Rejected: {}", createdCount, results.size() - createdCount);
+
+        return results;
     }
 
     @Transactional(readOnly = true)
     public DocumentResponse getDocumentWithHistory(Long id) {
         log.debug("Fetching document with id: {} and its history", id);
 
-        Document document = documentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+        List<DocumentSummary> documents = documentRepository.searchSummaries(
+                DocumentSpecifications.idIn(List.of(id)), Pageable.unpaged());
+        if (documents.isEmpty()) {
+            throw new RuntimeException("Document not found with id: " + id);
+        }
+
+        return mapToResponses(documents, true).get(0);
+    }
 
-        return mapToResponse(document);
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getDocumentVersion(Long id) {
+        return documentRepository.findUpdatedAtById(id);
+    }
+
+    // Текущие статусы без истории; отсутствующих документов в результате нет
+    @Transactional(readOnly = true)
+    public Map<Long, DocumentStatus> getDocumentStatuses(Collection<Long> ids) {
+        return documentRepository.searchSummaries(DocumentSpecifications.idIn(ids), Pageable.unpaged()).stream()
+                .collect(Collectors.toMap(DocumentSummary::id, DocumentSummary::status));
     }
 
     @Transactional(readOnly = true)
@@ -58,44 +183,61 @@ public class DocumentService {
         log.debug("Fetching documents by ids: {}, page: {}, size: {}", ids, page, size);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        List<Document> documents = documentRepository.findAllByIdIn(ids, pageable);
+        List<DocumentSummary> documents = documentRepository.searchSummaries(DocumentSpecifications.idIn(ids), pageable);
 
-        return documents.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(documents, true);
     }
 
     @Transactional
     public List<SubmitResult> submitDocuments(DocumentActionRequest request) {
         log.info("Processing submit for {} documents by user: {}", request.getIds().size(), request.getUserId());
+        Timer.Sample sample = metrics.start();
 
-        List<SubmitResult> results = new ArrayList<>();
-
-        for (Long documentId : request.getIds()) {
-            try {
-                Document document = documentRepository.findById(documentId)
-                        .orElseThrow(() -> new RuntimeException("Document not found"));
-
-                document.submit(request.getUserId(), request.getComment());
-                documentRepository.save(document);
-
-                log.debug("Document {} submitted successfully", documentId);
-                results.add(SubmitResult.success(documentId));
+        List<Long> ids = request.getIds();
+        if (ids.isEmpty()) {
+            List<SubmitResult> empty = new ArrayList<>();
+            metrics.recordSubmit(sample, empty);
+            return empty;
+        }
 
-            } catch (RuntimeException e) {
-                if (e.getMessage().contains("not found")) {
-                    log.warn("Document {} not found", documentId);
-                    results.add(SubmitResult.notFound(documentId));
-                } else if (e instanceof IllegalStateException) {
-                    log.warn("Document {} cannot be submitted: {}", documentId, e.getMessage());
-                    results.add(SubmitResult.conflict(documentId, e.getMessage()));
-                } else {
-                    log.error("Error submitting document {}: {}", documentId, e.getMessage());
-                    results.add(SubmitResult.error(documentId, e.getMessage()));
-                }
+        // Загружаем и блокируем все документы запроса одним запросом
+        Map<Long, Document> documents = documentRepository.findAllByIdInWithLock(ids).stream()
+                .collect(Collectors.toMap(Document::getId, Function.identity()));
+
+        List<SubmitResult> results = new ArrayList<>(ids.size());
+        Map<Long, Integer> toSubmit = new LinkedHashMap<>();
+
+        for (Long documentId : ids) {
+            Document document = documents.get(documentId);
+            if (document == null) {
+                log.warn("Document {} not found", documentId);
+                results.add(SubmitResult.notFound(documentId));
+            } else if (!document.canSubmit() || toSubmit.containsKey(documentId)) {
+                log.warn("Document {} cannot be submitted: {}", documentId, Document.SUBMIT_CONFLICT_MESSAGE);
+                results.add(SubmitResult.conflict(documentId, Document.SUBMIT_CONFLICT_MESSAGE));
+            } else {
+                toSubmit.put(documentId, results.size());
+                results.add(null);
             }
         }
 
+        if (!toSubmit.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            writeInChunks(toSubmit.keySet(),
+                    chunk -> writeSubmit(chunk, request.getUserId(), request.getComment(), now),
+                    SubmitResult::success,
+                    (documentId, e) -> {
+                        log.error("Error submitting document {}: {}", documentId, e.getMessage());
+                        return SubmitResult.error(documentId, e.getMessage());
+                    })
+                    .forEach((documentId, result) -> results.set(toSubmit.get(documentId), result));
+            entityManager.clear();
+            publishStatusChanged(results.stream()
+                    .filter(r -> r.getStatus() == SubmitResult.Status.SUCCESS)
+                    .map(SubmitResult::getDocumentId), DocumentStatus.SUBMITTED);
+        }
+
+        metrics.recordSubmit(sample, results);
         log.info("Submit completed. Success: {}, Failed: {}",
                 results.stream().filter(r -> r.getStatus() == SubmitResult.Status.SUCCESS).count(),
                 results.size() - results.stream().filter(r -> r.getStatus() == SubmitResult.Status.SUCCESS).count());
@@ -106,118 +248,255 @@ public class DocumentService {
     @Transactional
     public List<ApproveResult> approveDocuments(DocumentActionRequest request) {
         log.info("Processing approve for {} documents by user: {}", request.getIds().size(), request.getUserId());
+        Timer.Sample sample = metrics.start();
 
-        List<ApproveResult> results = new ArrayList<>();
-
-        for (Long documentId : request.getIds()) {
-            try {
-                Document document = documentRepository.findById(documentId)
-                        .orElseThrow(() -> new RuntimeException("Document not found"));
-
-                document.approve(request.getUserId(), request.getComment());
-                documentRepository.save(document);
+        List<Long> ids = request.getIds();
+        if (ids.isEmpty()) {
+            List<ApproveResult> empty = new ArrayList<>();
+            metrics.recordApprove(sample, empty);
+            return empty;
+        }
 
-                // Создаем запись в реестре утверждений
-                try {
-                    ApprovalRegistry registry = new ApprovalRegistry();
-                    registry.setDocumentId(documentId);
-                    registry.setApprovedAt(LocalDateTime.now());
-                    registry.setApprovedBy(request.getUserId());
+        Map<Long, Document> documents = documentRepository.findAllByIdInWithLock(ids).stream()
+                .collect(Collectors.toMap(Document::getId, Function.identity()));
+        Set<Long> registered = new HashSet<>(registryRepository.findDocumentIdsByDocumentIdIn(documents.keySet()));
+
+        List<ApproveResult> results = new ArrayList<>(ids.size());
+        Map<Long, Integer> toApprove = new LinkedHashMap<>();
+
+        for (Long documentId : ids) {
+            Document document = documents.get(documentId);
+            if (document == null) {
+                log.warn("Document {} not found", documentId);
+                results.add(ApproveResult.notFound(documentId));
+            } else if (!document.canApprove() || toApprove.containsKey(documentId)) {
+                log.warn("Document {} cannot be approved: {}", documentId, Document.APPROVE_CONFLICT_MESSAGE);
+                results.add(ApproveResult.conflict(documentId));
+            } else if (registered.contains(documentId)) {
+                log.error("Registry error for document {}: registry entry already exists", documentId);
+                results.add(ApproveResult.registryError(documentId));
+            } else {
+                toApprove.put(documentId, results.size());
+                results.add(null);
+            }
+        }
 
-                    registryRepository.save(registry);
-                    log.debug("Registry entry created for document {}", documentId);
+        if (!toApprove.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            writeInChunks(toApprove.keySet(),
+                    chunk -> writeApproval(chunk, request.getUserId(), request.getComment(), now),
+                    ApproveResult::success,
+                    (documentId, e) -> {
+                        if (e instanceof RegistryException) {
+                            log.error("Registry error for document {}: {}", documentId, e.getCause().getMessage());
+                            return ApproveResult.registryError(documentId);
+                        }
+                        log.error("Error approving document {}: {}", documentId, e.getMessage());
+                        return ApproveResult.error(documentId, e.getMessage());
+                    })
+                    .forEach((documentId, result) -> results.set(toApprove.get(documentId), result));
+            entityManager.clear();
+            publishStatusChanged(results.stream()
+                    .filter(r -> r.getStatus() == ApproveResult.Status.SUCCESS)
+                    .map(ApproveResult::getDocumentId), DocumentStatus.APPROVED);
+        }
 
-                } catch (Exception e) {
-                    log.error("Failed to create registry entry for document {}: {}", documentId, e.getMessage());
-                    throw new RuntimeException("Failed to create registry entry", e);
-                }
+        metrics.recordApprove(sample, results);
+        log.info("Approve completed. Success: {}, Failed: {}",
+                results.stream().filter(r -> r.getStatus() == ApproveResult.Status.SUCCESS).count(),
+                results.size() - results.stream().filter(r -> r.getStatus() == ApproveResult.Status.SUCCESS).count());
 
-                log.debug("Document {} approved successfully", documentId);
-                results.add(ApproveResult.success(documentId));
+        return results;
+    }
 
+    /**
+     * Пишет переходы частями по chunkSize документов, каждая часть в своей точке сохранения.
+     * Если часть падает, откатывается только она, и её документы повторяются по одному.
+     * Всю транзакцию на откат это не помечает, только пока writer пишет через JDBC: исключение из
+     * EntityManager или репозитория Spring Data внутри точки сохранения пометило бы её целиком.
+     * Загруженные сущности после записи устаревают, поэтому контекст персистентности очищается.
+     */
+    private <K, R> Map<K, R> writeInChunks(Collection<K> keys,
+                                           Consumer<List<K>> writer,
+                                           Function<K, R> onSuccess,
+                                           BiFunction<K, RuntimeException, R> onFailure) {
+        Map<K, R> results = new HashMap<>();
+        List<K> all = new ArrayList<>(keys);
+
+        for (int from = 0; from < all.size(); from += chunkSize) {
+            List<K> chunk = all.subList(from, Math.min(from + chunkSize, all.size()));
+            try {
+                savepointTemplate.execute(() -> writer.accept(chunk));
+                chunk.forEach(key -> results.put(key, onSuccess.apply(key)));
+                log.debug("Chunk of {} documents written successfully", chunk.size());
+                continue;
             } catch (RuntimeException e) {
-                if (e.getMessage().contains("not found")) {
-                    log.warn("Document {} not found", documentId);
-                    results.add(ApproveResult.notFound(documentId));
-                } else if (e instanceof IllegalStateException) {
-                    log.warn("Document {} cannot be approved: {}", documentId, e.getMessage());
-                    results.add(ApproveResult.conflict(documentId));
-                } else if (e.getMessage().contains("registry")) {
-                    log.error("Registry error for document {}: {}", documentId, e.getMessage());
-                    results.add(ApproveResult.registryError(documentId));
-                } else {
-                    log.error("Error approving document {}: {}", documentId, e.getMessage());
-                    results.add(ApproveResult.error(documentId, e.getMessage()));
+                log.warn("Chunk of {} documents failed, retrying one by one: {}", chunk.size(), e.getMessage());
+            }
+
+            for (K key : chunk) {
+                try {
+                    savepointTemplate.execute(() -> writer.accept(List.of(key)));
+                    results.put(key, onSuccess.apply(key));
+                } catch (RuntimeException e) {
+                    results.put(key, onFailure.apply(key, e));
                 }
             }
         }
+        return results;
+    }
 
-        log.info("Approve completed. Success: {}, Failed: {}",
-                results.stream().filter(r -> r.getStatus() == ApproveResult.Status.SUCCESS).count(),
-                results.size() - results.stream().filter(r -> r.getStatus() == ApproveResult.Status.SUCCESS).count());
+    // Только реально переведённые документы: откаченные точки сохранения в событие не попадают
+    private void publishStatusChanged(Stream<Long> documentIds, DocumentStatus status) {
+        List<Long> changed = documentIds.collect(Collectors.toList());
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new DocumentStatusChangedEvent(changed, status));
+        }
+    }
 
-        return results;
+    private void writeSubmit(Collection<Long> documentIds, String userId, String comment, LocalDateTime now) {
+        batchRepository.updateStatus(documentIds, DocumentStatus.SUBMITTED, now);
+        batchRepository.insertHistory(documentIds, DocumentAction.SUBMIT, userId, comment, now);
+    }
+
+    private void writeApproval(Collection<Long> documentIds, String userId, String comment, LocalDateTime now) {
+        batchRepository.updateStatus(documentIds, DocumentStatus.APPROVED, now);
+        batchRepository.insertHistory(documentIds, DocumentAction.APPROVE, userId, comment, now);
+        try {
+            batchRepository.insertRegistry(documentIds, userId, now);
+        } catch (RuntimeException e) {
+            throw new RegistryException(e);
+        }
     }
 
     @Transactional(readOnly = true)
     public List<DocumentResponse> searchDocuments(DocumentSearchRequest request) {
         log.debug("Searching documents with filters: status={}, author={}, dateFrom={}, dateTo={}",
                 request.getStatus(), request.getAuthor(), request.getDateFrom(), request.getDateTo());
+        Timer.Sample sample = metrics.start();
 
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), Sort.by("createdAt").descending());
-        List<Document> documents;
-
-        // Поиск по комбинации фильтров (используем дату создания)
-        if (request.getStatus() != null && request.getAuthor() != null && request.getDateFrom() != null && request.getDateTo() != null) {
-            documents = documentRepository.findByStatusAndAuthorAndCreatedAtBetween(
-                    request.getStatus(), request.getAuthor(), request.getDateFrom(), request.getDateTo(), pageable);
-        } else if (request.getStatus() != null && request.getAuthor() != null) {
-            documents = documentRepository.findByStatusAndAuthorAndCreatedAtBetween(
-                    request.getStatus(), request.getAuthor(),
-                    request.getDateFrom() != null ? request.getDateFrom() : LocalDateTime.MIN,
-                    request.getDateTo() != null ? request.getDateTo() : LocalDateTime.MAX,
-                    pageable);
-        } else if (request.getStatus() != null) {
-            documents = documentRepository.findByStatusAndCreatedAtBetween(
-                    request.getStatus(),
-                    request.getDateFrom() != null ? request.getDateFrom() : LocalDateTime.MIN,
-                    request.getDateTo() != null ? request.getDateTo() : LocalDateTime.MAX,
-                    pageable);
-        } else if (request.getAuthor() != null) {
-            documents = documentRepository.findByAuthorAndCreatedAtBetween(
-                    request.getAuthor(),
-                    request.getDateFrom() != null ? request.getDateFrom() : LocalDateTime.MIN,
-                    request.getDateTo() != null ? request.getDateTo() : LocalDateTime.MAX,
-                    pageable);
-        } else if (request.getDateFrom() != null && request.getDateTo() != null) {
-            documents = documentRepository.findByCreatedAtBetween(request.getDateFrom(), request.getDateTo(), pageable);
-        } else {
-            documents = documentRepository.findAll(pageable).getContent();
+        List<DocumentSummary> documents = documentRepository.searchSummaries(searchFilter(request), pageable);
+
+        List<DocumentResponse> responses = mapToResponses(documents, request.isIncludeHistory());
+        metrics.recordSearch(sample, responses.size());
+        return responses;
+    }
+
+    /**
+     * Поиск с keyset-пагинацией: вместо OFFSET следующая страница начинается сразу после
+     * (created_at, id) последнего документа предыдущей, поэтому глубина страницы не влияет на скорость.
+     */
+    @Transactional(readOnly = true)
+    public DocumentSearchPage searchDocumentsByCursor(DocumentSearchRequest request) {
+        log.debug("Searching documents by cursor {} with filters: status={}, author={}, dateFrom={}, dateTo={}",
+                request.getCursor(), request.getStatus(), request.getAuthor(), request.getDateFrom(), request.getDateTo());
+
+        Specification<Document> filter = searchFilter(request);
+        if (request.getCursor() != null && !request.getCursor().isEmpty()) {
+            DocumentCursor cursor = DocumentCursor.decode(request.getCursor());
+            filter = filter.and(DocumentSpecifications.after(cursor.createdAt(), cursor.id()));
+        }
+
+        // Лишняя строка показывает, есть ли следующая страница
+        List<DocumentSummary> documents = documentRepository.searchSummaries(filter,
+                PageRequest.of(0, request.getSize() + 1, KEYSET_SORT));
+
+        String nextCursor = null;
+        if (documents.size() > request.getSize()) {
+            documents = documents.subList(0, request.getSize());
+            DocumentSummary last = documents.get(documents.size() - 1);
+            nextCursor = new DocumentCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return DocumentSearchPage.builder()
+                .documents(mapToResponses(documents, request.isIncludeHistory()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Выгрузка результатов поиска в NDJSON (документ на строку, без истории) по мере чтения
+     * с серверного курсора: ни выборка, ни ответ целиком в памяти не держатся.
+     *
+     * @return число выгруженных документов
+     */
+    @Transactional(readOnly = true)
+    public long exportDocuments(DocumentSearchRequest request, OutputStream out) throws IOException {
+        log.debug("Exporting documents with filters: status={}, author={}, dateFrom={}, dateTo={}",
+                request.getStatus(), request.getAuthor(), request.getDateFrom(), request.getDateTo());
+
+        long count = 0;
+        // Без flush на каждый документ: ответ уходит в сеть по заполнении буфера генератора, а не чанком на строку
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (Stream<DocumentSummary> documents = documentRepository.streamSummaries(
+                searchFilter(request), KEYSET_SORT, exportFetchSize)) {
+            Iterator<DocumentSummary> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, mapToResponse(iterator.next(), null));
+                generator.writeRaw('\n');
+                count++;
+            }
         }
+        generator.flush();
+
+        log.info("Exported {} documents", count);
+        return count;
+    }
+
+    private static Specification<Document> searchFilter(DocumentSearchRequest request) {
+        return DocumentSpecifications.filter(
+                request.getStatus(), request.getAuthor(), request.getDateFrom(), request.getDateTo());
+    }
+
+    /**
+     * Чтение без сущностей: документы и история приходят проекциями, история страницы — одним IN-запросом.
+     */
+    private List<DocumentResponse> mapToResponses(List<DocumentSummary> documents, boolean includeHistory) {
+        if (!includeHistory || documents.isEmpty()) {
+            return documents.stream()
+                    .map(document -> mapToResponse(document, null))
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> documentIds = documents.stream()
+                .map(DocumentSummary::id)
+                .collect(Collectors.toList());
+        Map<Long, List<HistoryEntry>> historyByDocument = historyRepository.findEntriesByDocumentIdIn(documentIds).stream()
+                .collect(Collectors.groupingBy(HistoryEntry::documentId));
 
         return documents.stream()
-                .map(this::mapToResponse)
+                .map(document -> mapToResponse(document,
+                        historyByDocument.getOrDefault(document.id(), List.of())))
                 .collect(Collectors.toList());
     }
 
-    private DocumentResponse mapToResponse(Document document) {
+    private DocumentResponse mapToResponse(DocumentSummary document, List<HistoryEntry> history) {
         return DocumentResponse.builder()
-                .id(document.getId())
-                .uniqueNumber(document.getUniqueNumber())
-                .author(document.getAuthor())
-                .title(document.getTitle())
-                .status(document.getStatus())
-                .createdAt(document.getCreatedAt())
-                .updatedAt(document.getUpdatedAt())
-                .history(document.getHistory().stream()
+                .id(document.id())
+                .uniqueNumber(document.uniqueNumber())
+                .author(document.author())
+                .title(document.title())
+                .status(document.status())
+                .createdAt(document.createdAt())
+                .updatedAt(document.updatedAt())
+                .history(history == null ? null : history.stream()
                         .map(h -> HistoryResponse.builder()
-                                .id(h.getId())
-                                .action(h.getAction())
-                                .userId(h.getUserId())
-                                .comment(h.getComment())
-                                .timestamp(h.getTimestamp())
+                                .id(h.id())
+                                .action(h.action())
+                                .userId(h.userId())
+                                .comment(h.comment())
+                                .timestamp(h.timestamp())
                                 .build())
                         .collect(Collectors.toList()))
                 .build();
     }
-}
\ No newline at end of file
+
+    private static class RegistryException extends RuntimeException {
+        RegistryException(Throwable cause) {
+            super("Failed to create registry entry", cause);
+        }
+    }
+}
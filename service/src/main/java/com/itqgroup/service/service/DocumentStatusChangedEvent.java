@@ -0,0 +1,12 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.model.enums.DocumentStatus;
+
+import java.util.List;
+
+/**
+ * Документы, переведённые в status одним вызовом submit/approve. Публикуется внутри транзакции,
+ * слушатели получают его через @TransactionalEventListener после коммита.
+ */
+public record DocumentStatusChangedEvent(List<Long> documentIds, DocumentStatus status) {
+}
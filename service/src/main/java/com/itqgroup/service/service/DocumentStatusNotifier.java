@@ -0,0 +1,99 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.config.TaskThreads;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Подписки на смену статуса документов для ожидания и SSE, без опроса БД. Источники — переходы
+ * этого экземпляра после коммита и, при worker.notify.enabled, уведомления канала document_status
+ * о переходах на любом экземпляре (DocumentStatusListener). Переход своего экземпляра поэтому может
+ * прийти дважды. Подписчики вызываются в своём пуле: поток, закоммитивший переход, не ждёт
+ * загрузки документа или медленного клиента.
+ */
+@Component
+@Slf4j
+public class DocumentStatusNotifier {
+
+    private final ConcurrentMap<Long, Set<BiConsumer<Long, DocumentStatus>>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public DocumentStatusNotifier(TaskThreads taskThreads, @Value("${document.events.threads:2}") int threads) {
+        this.executor = taskThreads.newExecutor("document-events", threads);
+    }
+
+    /**
+     * @return отмена подписки
+     */
+    public Runnable subscribe(Collection<Long> documentIds, BiConsumer<Long, DocumentStatus> subscriber) {
+        List<Long> ids = List.copyOf(documentIds);
+        ids.forEach(id -> subscribers.compute(id, (key, current) -> {
+            Set<BiConsumer<Long, DocumentStatus>> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        }));
+        return () -> ids.forEach(id -> subscribers.computeIfPresent(id, (key, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(DocumentStatusChangedEvent event) {
+        publish(event.documentIds(), event.status());
+    }
+
+    public void publish(Collection<Long> documentIds, DocumentStatus status) {
+        for (Long documentId : documentIds) {
+            Set<BiConsumer<Long, DocumentStatus>> set = subscribers.get(documentId);
+            if (set == null) {
+                continue;
+            }
+            for (BiConsumer<Long, DocumentStatus> subscriber : set) {
+                notify(subscriber, documentId, status);
+            }
+        }
+    }
+
+    public int getSubscribedDocuments() {
+        return subscribers.size();
+    }
+
+    private void notify(BiConsumer<Long, DocumentStatus> subscriber, Long documentId, DocumentStatus status) {
+        try {
+            executor.execute(() -> {
+                try {
+                    subscriber.accept(documentId, status);
+                } catch (RuntimeException e) {
+                    log.warn("Status subscriber for document {} failed: {}", documentId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Status notification for document {} dropped on shutdown", documentId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Status notifier executor did not terminate in time, interrupting notifications");
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.dto.ImportJobResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Состояние задачи импорта. Меняет его только поток импорта, читают запросы статуса.
+ */
+final class ImportJob {
+
+    private final UUID id = UUID.randomUUID();
+    private final ImportJobResponse.Format format;
+    private final int maxErrors;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final List<String> errors = new ArrayList<>();
+
+    private volatile ImportJobResponse.Status status = ImportJobResponse.Status.QUEUED;
+    private volatile long rowsImported;
+    private volatile long rowsRejected;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile String message;
+
+    ImportJob(ImportJobResponse.Format format, int maxErrors) {
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    UUID id() {
+        return id;
+    }
+
+    ImportJobResponse.Format format() {
+        return format;
+    }
+
+    long rowsImported() {
+        return rowsImported;
+    }
+
+    long rowsRejected() {
+        return rowsRejected;
+    }
+
+    boolean finishedBefore(LocalDateTime time) {
+        LocalDateTime finished = finishedAt;
+        return finished != null && finished.isBefore(time);
+    }
+
+    void start() {
+        startedNanos = System.nanoTime();
+        startedAt = LocalDateTime.now();
+        status = ImportJobResponse.Status.RUNNING;
+    }
+
+    void imported(long rows) {
+        rowsImported += rows;
+    }
+
+    void rejected(long line, String error) {
+        rowsRejected++;
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add("line " + line + ": " + error);
+            }
+        }
+    }
+
+    void complete() {
+        finish(ImportJobResponse.Status.COMPLETED, null);
+    }
+
+    void fail(String message) {
+        finish(ImportJobResponse.Status.FAILED, message);
+    }
+
+    double rowsPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+        long end = finishedAt == null ? System.nanoTime() : finishedNanos;
+        long nanos = Math.max(end - startedNanos, 1);
+        return rowsImported * 1_000_000_000.0 / nanos;
+    }
+
+    ImportJobResponse toResponse() {
+        List<String> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = List.copyOf(errors);
+        }
+        return ImportJobResponse.builder()
+                .jobId(id)
+                .format(format)
+                .status(status)
+                .rowsImported(rowsImported)
+                .rowsRejected(rowsRejected)
+                .errors(errorsCopy)
+                .rowsPerSecond(rowsPerSecond())
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .message(message)
+                .build();
+    }
+
+    private void finish(ImportJobResponse.Status finalStatus, String finalMessage) {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        message = finalMessage;
+        status = finalStatus;
+    }
+}
@@ -0,0 +1,110 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.config.TaskThreads;
+import com.itqgroup.service.dto.ApproveResult;
+import com.itqgroup.service.dto.DocumentActionRequest;
+import com.itqgroup.service.dto.SubmitResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Параллельный режим /submit и /approve: запрос делится на части по chunkSize ID, каждая часть
+ * выполняется в своей транзакции в ограниченном пуле, результаты собираются в исходном порядке.
+ * В отличие от обычного режима запрос не атомарен: части коммитятся независимо, поэтому упавшая часть
+ * не роняет запрос, а отвечает ERROR по каждому своему ID, и результат всегда покрывает все ID запроса.
+ */
+@Service
+@Slf4j
+public class ParallelDocumentActionService {
+
+    private final DocumentService documentService;
+    private final ExecutorService executor;
+    private final int chunkSize;
+
+    public ParallelDocumentActionService(DocumentService documentService,
+                                         TaskThreads taskThreads,
+                                         @Value("${document.parallel.threads:4}") int threads,
+                                         @Value("${document.parallel.chunk-size:250}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("document.parallel.chunk-size must be positive");
+        }
+        this.documentService = documentService;
+        this.chunkSize = chunkSize;
+        this.executor = taskThreads.newExecutor("document-parallel", threads);
+    }
+
+    public List<SubmitResult> submitDocuments(DocumentActionRequest request) {
+        return runInChunks(request, documentService::submitDocuments, SubmitResult::error);
+    }
+
+    public List<ApproveResult> approveDocuments(DocumentActionRequest request) {
+        return runInChunks(request, documentService::approveDocuments, ApproveResult::error);
+    }
+
+    /**
+     * Повторы одного ID в разных частях безопасны: строки блокируются в порядке id,
+     * и вторая часть увидит документ уже переведённым.
+     */
+    private <R> List<R> runInChunks(DocumentActionRequest request,
+                                    Function<DocumentActionRequest, List<R>> action,
+                                    BiFunction<Long, String, R> error) {
+        List<Long> ids = request.getIds();
+        if (ids.size() <= chunkSize) {
+            return action.apply(request);
+        }
+
+        List<DocumentActionRequest> chunks = new ArrayList<>();
+        List<Future<List<R>>> futures = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            DocumentActionRequest chunk = new DocumentActionRequest();
+            chunk.setIds(new ArrayList<>(ids.subList(from, Math.min(from + chunkSize, ids.size()))));
+            chunk.setUserId(request.getUserId());
+            chunk.setComment(request.getComment());
+            chunks.add(chunk);
+            futures.add(executor.submit(() -> action.apply(chunk)));
+        }
+        log.debug("Request of {} documents split into {} parallel chunks", ids.size(), futures.size());
+
+        List<R> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < futures.size(); i++) {
+            List<Long> chunkIds = chunks.get(i).getIds();
+            try {
+                results.addAll(futures.get(i).get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                log.error("Chunk of {} documents starting at id {} failed: {}",
+                        chunkIds.size(), chunkIds.get(0), cause.getMessage(), cause);
+                chunkIds.forEach(id -> results.add(error.apply(id, "Chunk failed: " + cause.getMessage())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // Ещё не начатые части отменяются; начатые могут закоммититься, их итог неизвестен
+                futures.subList(i, futures.size()).forEach(future -> future.cancel(false));
+                for (DocumentActionRequest rest : chunks.subList(i, chunks.size())) {
+                    rest.getIds().forEach(id -> results.add(error.apply(id, "Interrupted before the chunk result was known")));
+                }
+                break;
+            }
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Parallel action executor did not terminate in time, interrupting running chunks");
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.itqgroup.service.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Точки сохранения JDBC внутри текущей транзакции.
+ * HibernateJpaDialect не поддерживает PROPAGATION_NESTED, поэтому работаем с соединением транзакции напрямую.
+ * Откат к точке сохранения отменяет только изменения, сделанные внутри {@link #execute(Runnable)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SavepointTemplate {
+
+    private final DataSource dataSource;
+
+    public void execute(Runnable action) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Savepoints require an active transaction");
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw new TransactionSystemException("Savepoint operation failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
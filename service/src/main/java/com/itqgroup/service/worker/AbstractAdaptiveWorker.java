@@ -0,0 +1,190 @@
+package com.itqgroup.service.worker;
+
+import com.itqgroup.service.dto.DocumentActionRequest;
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.service.DocumentMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Общая часть SubmitWorker и ApproveWorker: адаптивное расписание, внеочередные запуски по уведомлениям
+ * и обработка очереди статуса status параллельными партициями. Наследник задаёт только действие над пачкой.
+ * <p>
+ * Такты идут одной цепочкой на планировщике: каждый такт сам планирует следующий через паузу расписания,
+ * а пробуждение лишь переносит ещё не начавшийся такт на «сейчас». Поэтому у воркера никогда
+ * не бывает двух одновременных тактов.
+ */
+@Slf4j
+public abstract class AbstractAdaptiveWorker {
+
+    private final String name;
+    private final DocumentStatus status;
+    private final DocumentRepository documentRepository;
+    private final WorkerExecutor workerExecutor;
+    private final DocumentMetrics documentMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final int partitions;
+    private final AdaptiveSchedule schedule;
+
+    private final Object lock = new Object();
+    private ScheduledFuture<?> next;
+    private boolean running;
+    private boolean stopped;
+
+    protected AbstractAdaptiveWorker(String name,
+                                     DocumentStatus status,
+                                     WorkerProperties properties,
+                                     WorkerProperties.Queue queue,
+                                     DocumentRepository documentRepository,
+                                     WorkerExecutor workerExecutor,
+                                     DocumentMetrics documentMetrics,
+                                     TransactionTemplate transactionTemplate,
+                                     TaskScheduler taskScheduler) {
+        this.name = name;
+        this.status = status;
+        this.documentRepository = documentRepository;
+        this.workerExecutor = workerExecutor;
+        this.documentMetrics = documentMetrics;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.partitions = queue.getPartitions() != null ? queue.getPartitions() : properties.getPartitions();
+        // Пауза worker.<очередь>.interval — верхняя граница отката при отсутствии работы
+        WorkerProperties.Adaptive adaptive = properties.getAdaptive();
+        this.schedule = AdaptiveSchedule.builder()
+                .adaptive(adaptive.isEnabled())
+                .batchSize(properties.getBatchSize())
+                .minBatchSize(adaptive.getMinBatchSize())
+                .maxBatchSize(adaptive.getMaxBatchSize())
+                .targetBatchMillis(adaptive.getTargetBatchMillis())
+                .minDelayMillis(adaptive.getMinDelay())
+                .maxDelayMillis(queue.getInterval())
+                .build();
+    }
+
+    /**
+     * Обрабатывает пачку захваченных документов в транзакции захвата.
+     *
+     * @return число успешно обработанных документов
+     */
+    protected abstract long process(DocumentActionRequest request);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        runNow();
+    }
+
+    @PreDestroy
+    public void stop() {
+        synchronized (lock) {
+            stopped = true;
+            if (next != null) {
+                next.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Внеочередной запуск по уведомлению о новых документах в статусе status.
+     * Уведомления, пришедшие до старта уже запланированного такта, склеиваются в один;
+     * пришедшие во время такта снимают паузу после него.
+     */
+    public void wakeUp() {
+        schedule.requestWakeUp();
+        runNow();
+    }
+
+    private void runNow() {
+        synchronized (lock) {
+            if (stopped || running) {
+                return;
+            }
+            if (next != null && !next.cancel(false)) {
+                return;
+            }
+            next = taskScheduler.schedule(this::run, Instant.now());
+        }
+    }
+
+    private void run() {
+        synchronized (lock) {
+            // Устаревший запуск (пробуждение перенесло такт, когда этот уже стартовал) не идёт параллельно с текущим
+            if (stopped || running) {
+                return;
+            }
+            running = true;
+            next = null;
+        }
+        try {
+            processQueue();
+        } catch (RuntimeException e) {
+            log.error("{} worker run failed: {}", name, e.getMessage(), e);
+        } finally {
+            synchronized (lock) {
+                running = false;
+                if (!stopped) {
+                    next = taskScheduler.schedule(this::run, Instant.now().plusMillis(schedule.nextDelayMillis()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Один такт: partitions пачек параллельно, затем пересчёт расписания.
+     * Плановые и внеочередные такты идут через цепочку run; прямой вызов нужен тестам.
+     */
+    public void processQueue() {
+        int batchSize = schedule.batchSize();
+        log.debug("{} worker started. Looking for documents in {} status (batch size: {}, partitions: {})",
+                name, status, batchSize, partitions);
+
+        long startTime = System.currentTimeMillis();
+
+        BatchResult result = workerExecutor.runPartitions(name, partitions,
+                partition -> processBatch(partition, batchSize));
+
+        long duration = System.currentTimeMillis() - startTime;
+        schedule.record(result, partitions, duration);
+
+        if (result.claimed() == 0) {
+            log.debug("No documents to {} found", name);
+            return;
+        }
+
+        log.info("{} worker completed in {} ms. Success: {}, Failed: {}. Next batch size: {}, delay: {} ms",
+                name, duration, result.succeeded(), result.failed(), schedule.batchSize(), schedule.delayMillis());
+    }
+
+    private BatchResult processBatch(int partition, int batchSize) {
+        // Захват и обработка пачки — одна транзакция на партицию
+        return transactionTemplate.execute(tx -> {
+            long claimStart = System.nanoTime();
+            List<Document> documents = documentRepository.claimByStatus(status, PageRequest.of(0, batchSize));
+            documentMetrics.recordClaim(name, System.nanoTime() - claimStart, documents.size());
+
+            if (documents.isEmpty()) {
+                return BatchResult.EMPTY;
+            }
+
+            log.info("Partition {} found {} documents to {}", partition, documents.size(), name);
+
+            DocumentActionRequest request = new DocumentActionRequest();
+            request.setIds(documents.stream().map(Document::getId).collect(Collectors.toList()));
+            request.setUserId("SYSTEM_WORKER");
+
+            return new BatchResult(documents.size(), process(request));
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.itqgroup.service.worker;
+
+import lombok.Builder;
+
+/**
+ * Расписание воркера, подстраивающееся под объём работы.
+ * Полные пачки — следующий запуск сразу; неполные — короткая пауза minDelay;
+ * пустые — экспоненциальный откат до maxDelay. Размер пачки подгоняется так,
+ * чтобы одна транзакция укладывалась в targetBatchMillis.
+ * В неадаптивном режиме ведёт себя как прежний fixedDelay с постоянным размером пачки.
+ */
+public class AdaptiveSchedule {
+
+    private final boolean adaptive;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchMillis;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+
+    private int batchSize;
+    private long delayMillis;
+    private boolean wakeUpRequested;
+
+    @Builder
+    public AdaptiveSchedule(boolean adaptive, int batchSize, int minBatchSize, int maxBatchSize,
+                            long targetBatchMillis, long minDelayMillis, long maxDelayMillis) {
+        this.adaptive = adaptive;
+        this.minBatchSize = Math.max(1, Math.min(minBatchSize, batchSize));
+        this.maxBatchSize = Math.max(maxBatchSize, batchSize);
+        this.targetBatchMillis = targetBatchMillis;
+        this.minDelayMillis = Math.max(1, minDelayMillis);
+        this.maxDelayMillis = Math.max(this.minDelayMillis, maxDelayMillis);
+        this.batchSize = batchSize;
+        this.delayMillis = 0;
+    }
+
+    public synchronized int batchSize() {
+        return batchSize;
+    }
+
+    public synchronized long delayMillis() {
+        return delayMillis;
+    }
+
+    /**
+     * Пауза до следующего такта; если новая работа появилась уже после учёта такта, паузы нет.
+     */
+    public synchronized long nextDelayMillis() {
+        return wakeUpRequested ? 0 : delayMillis;
+    }
+
+    /**
+     * Появилась новая работа (например, пришло уведомление): после текущего такта паузы не будет.
+     */
+    public synchronized void requestWakeUp() {
+        wakeUpRequested = true;
+    }
+
+    /**
+     * Учитывает итог такта: partitions пачек, выполненных параллельно за elapsedMillis.
+     */
+    public synchronized void record(BatchResult result, int partitions, long elapsedMillis) {
+        recordResult(result, partitions, elapsedMillis);
+        if (wakeUpRequested) {
+            delayMillis = 0;
+            wakeUpRequested = false;
+        }
+    }
+
+    private void recordResult(BatchResult result, int partitions, long elapsedMillis) {
+        if (!adaptive) {
+            delayMillis = maxDelayMillis;
+            return;
+        }
+
+        if (result.claimed() == 0) {
+            delayMillis = delayMillis < minDelayMillis ? minDelayMillis : Math.min(maxDelayMillis, delayMillis * 2);
+            return;
+        }
+
+        boolean full = result.claimed() >= (long) batchSize * partitions;
+        if (elapsedMillis > targetBatchMillis) {
+            batchSize = (int) Math.max(minBatchSize, batchSize * targetBatchMillis / elapsedMillis);
+        } else if (full && elapsedMillis < targetBatchMillis / 2) {
+            batchSize = Math.min(maxBatchSize, batchSize + Math.max(1, batchSize / 4));
+        }
+        delayMillis = full ? 0 : minDelayMillis;
+    }
+}
\ No newline at end of file
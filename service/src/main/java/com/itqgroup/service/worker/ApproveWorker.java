@@ -2,72 +2,38 @@ package com.itqgroup.service.worker;
 
 import com.itqgroup.service.dto.ApproveResult;
 import com.itqgroup.service.dto.DocumentActionRequest;
-import com.itqgroup.service.model.Document;
 import com.itqgroup.service.model.enums.DocumentStatus;
 import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.service.DocumentMetrics;
 import com.itqgroup.service.service.DocumentService;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
-import java.util.stream.Collectors;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
-@RequiredArgsConstructor
-@Slf4j
-public class ApproveWorker {
+@ConditionalOnProperty(name = "worker.enabled", havingValue = "true", matchIfMissing = true)
+public class ApproveWorker extends AbstractAdaptiveWorker {
 
-    private final DocumentRepository documentRepository;
     private final DocumentService documentService;
 
-    @Value("${worker.batch-size:100}")
-    private int batchSize;
-
-    @Scheduled(fixedDelayString = "${worker.approve.interval:10000}")
-    @Transactional
-    public void processApproves() {
-        log.debug("Approve worker started. Looking for documents in SUBMITTED status (batch size: {})", batchSize);
-
-        // Блокируем документы для обработки
-        List<Document> documents = documentRepository.findAndLockByStatus(
-                DocumentStatus.SUBMITTED,
-                PageRequest.of(0, batchSize)
-        );
-
-        if (documents.isEmpty()) {
-            log.debug("No documents to approve found");
-            return;
-        }
-
-        log.info("Found {} documents to approve", documents.size());
-
-        List<Long> documentIds = documents.stream()
-                .map(Document::getId)
-                .collect(Collectors.toList());
+    public ApproveWorker(DocumentService documentService,
+                         WorkerProperties properties,
+                         DocumentRepository documentRepository,
+                         WorkerExecutor workerExecutor,
+                         DocumentMetrics documentMetrics,
+                         TransactionTemplate transactionTemplate,
+                         TaskScheduler taskScheduler) {
+        super("approve", DocumentStatus.SUBMITTED, properties, properties.getApprove(),
+                documentRepository, workerExecutor, documentMetrics, transactionTemplate, taskScheduler);
+        this.documentService = documentService;
+    }
 
-        DocumentActionRequest request = new DocumentActionRequest();
-        request.setIds(documentIds);
-        request.setUserId("SYSTEM_WORKER");
+    @Override
+    protected long process(DocumentActionRequest request) {
         request.setComment("Auto-approved by worker");
-
-        long startTime = System.currentTimeMillis();
-
-        List<ApproveResult> results = documentService.approveDocuments(request);
-
-        long successCount = results.stream()
+        return documentService.approveDocuments(request).stream()
                 .filter(r -> r.getStatus() == ApproveResult.Status.SUCCESS)
                 .count();
-
-        long failedCount = results.size() - successCount;
-
-        long duration = System.currentTimeMillis() - startTime;
-
-        log.info("Approve worker completed in {} ms. Success: {}, Failed: {}",
-                duration, successCount, failedCount);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.itqgroup.service.worker;
+
+/**
+ * Итог обработки одной захваченной пачки документов.
+ */
+public record BatchResult(int claimed, long succeeded) {
+
+    public static final BatchResult EMPTY = new BatchResult(0, 0);
+
+    public long failed() {
+        return claimed - succeeded;
+    }
+}
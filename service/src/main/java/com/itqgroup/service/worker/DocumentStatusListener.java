@@ -0,0 +1,145 @@
+package com.itqgroup.service.worker;
+
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.service.DocumentStatusNotifier;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Слушает канал document_status (триггеры changeset 6 и 14) и будит воркеров, как только появляются
+ * документы для них, а переходы с ID документов передаёт DocumentStatusNotifier: ожидание и SSE
+ * видят переходы всех экземпляров. Плановые запуски остаются страховкой на случай потерянных
+ * уведомлений и переподключений.
+ * <p>
+ * Уведомление — STATUS (вставка) или STATUS:id,id,... (смена статуса).
+ */
+@Component
+@ConditionalOnProperty(name = "worker.notify.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentStatusListener {
+
+    static final String CHANNEL = "document_status";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final DocumentStatusNotifier statusNotifier;
+    // Воркеров нет при worker.enabled=false
+    private final ObjectProvider<SubmitWorker> submitWorker;
+    private final ObjectProvider<ApproveWorker> approveWorker;
+
+    @Value("${worker.notify.poll-timeout:1000}")
+    private int pollTimeout;
+
+    @Value("${worker.notify.reconnect-delay:5000}")
+    private long reconnectDelay;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "document-status-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            // Отдельное соединение в обход пула: LISTEN держит его всё время работы
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for document status notifications on channel {}", CHANNEL);
+
+                // Всё, что появилось, пока слушателя не было, подберут сразу
+                submitWorker.ifAvailable(SubmitWorker::wakeUp);
+                approveWorker.ifAvailable(ApproveWorker::wakeUp);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeout);
+                    if (notifications != null) {
+                        dispatch(notifications);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Document status listener disconnected, reconnecting in {} ms: {}",
+                        reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(PGNotification[] notifications) {
+        boolean drafts = false;
+        boolean submitted = false;
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            int separator = payload.indexOf(':');
+            DocumentStatus status;
+            List<Long> ids;
+            try {
+                status = DocumentStatus.valueOf(separator < 0 ? payload : payload.substring(0, separator));
+                ids = separator < 0 ? List.of() : parseIds(payload.substring(separator + 1));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed document status notification: {}", payload);
+                continue;
+            }
+            drafts |= status == DocumentStatus.DRAFT;
+            submitted |= status == DocumentStatus.SUBMITTED;
+            statusNotifier.publish(ids, status);
+        }
+        if (drafts) {
+            submitWorker.ifAvailable(SubmitWorker::wakeUp);
+        }
+        if (submitted) {
+            approveWorker.ifAvailable(ApproveWorker::wakeUp);
+        }
+    }
+
+    private static List<Long> parseIds(String ids) {
+        List<Long> result = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            result.add(Long.parseLong(id));
+        }
+        return result;
+    }
+}
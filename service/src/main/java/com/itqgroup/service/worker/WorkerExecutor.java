@@ -0,0 +1,94 @@
+package com.itqgroup.service.worker;
+
+import com.itqgroup.service.config.TaskThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Общий пул потоков воркеров. Каждая партиция — отдельный захват пачки через SKIP LOCKED
+ * в своей транзакции, поэтому партиции одного воркера не пересекаются по документам.
+ */
+@Component
+@Slf4j
+public class WorkerExecutor {
+
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+
+    public WorkerExecutor(@Value("${worker.threads:4}") int threads, TaskThreads taskThreads, MeterRegistry meterRegistry) {
+        this.executor = taskThreads.newExecutor("document-worker", threads);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Запускает partitions пачек параллельно и ждёт их завершения.
+     */
+    public BatchResult runPartitions(String worker, int partitions, IntFunction<BatchResult> batch) {
+        List<Future<BatchResult>> futures = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            int current = partition;
+            futures.add(executor.submit(() -> runPartition(worker, current, batch)));
+        }
+
+        int claimed = 0;
+        long succeeded = 0;
+        for (Future<BatchResult> future : futures) {
+            try {
+                BatchResult result = future.get();
+                claimed += result.claimed();
+                succeeded += result.succeeded();
+            } catch (ExecutionException e) {
+                log.error("{} worker partition failed: {}", worker, e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return new BatchResult(claimed, succeeded);
+    }
+
+    private BatchResult runPartition(String worker, int partition, IntFunction<BatchResult> batch) {
+        String partitionTag = String.valueOf(partition);
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        BatchResult result = batch.apply(partition);
+
+        sample.stop(Timer.builder("document.worker.batch")
+                .description("Time to claim and process one batch")
+                .tags("worker", worker, "partition", partitionTag)
+                .register(meterRegistry));
+        Counter.builder("document.worker.documents")
+                .description("Documents processed by worker partitions")
+                .tags("worker", worker, "partition", partitionTag, "outcome", "success")
+                .register(meterRegistry)
+                .increment(result.succeeded());
+        Counter.builder("document.worker.documents")
+                .description("Documents processed by worker partitions")
+                .tags("worker", worker, "partition", partitionTag, "outcome", "failed")
+                .register(meterRegistry)
+                .increment(result.failed());
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Worker executor did not terminate in time, interrupting running batches");
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.itqgroup.service.worker;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки воркеров worker.*, общие для SubmitWorker и ApproveWorker, и настройки каждой очереди.
+ */
+@Component
+@ConfigurationProperties(prefix = "worker")
+@Data
+public class WorkerProperties {
+
+    private int batchSize = 100;
+    private int partitions = 2;
+    private final Adaptive adaptive = new Adaptive();
+    private final Queue submit = new Queue();
+    private final Queue approve = new Queue();
+
+    @Data
+    public static class Adaptive {
+        private boolean enabled = true;
+        private int minBatchSize = 10;
+        private int maxBatchSize = 1000;
+        private long targetBatchMillis = 2000;
+        private long minDelay = 100;
+    }
+
+    @Data
+    public static class Queue {
+        // null — общее worker.partitions
+        private Integer partitions;
+        // Верхняя граница паузы при отсутствии работы
+        private long interval = 10000;
+    }
+}
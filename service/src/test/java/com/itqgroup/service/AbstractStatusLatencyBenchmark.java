@@ -0,0 +1,76 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.dto.DocumentCreateRequest;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.service.DocumentService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Задержка от создания документа до APPROVED, когда воркеры простаивают.
+ * Наследники отличаются только способом пробуждения воркеров: опрос или LISTEN/NOTIFY.
+ */
+@Tag("benchmark")
+@TestPropertySource(properties = "worker.enabled=true")
+abstract class AbstractStatusLatencyBenchmark extends AbstractPostgresIntegrationTest {
+
+    static final long INTERVAL_MILLIS = 5_000;
+
+    private static final int SAMPLES = 10;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    static void workerProperties(DynamicPropertyRegistry registry, boolean notify) {
+        registry.add("worker.submit.interval", () -> String.valueOf(INTERVAL_MILLIS));
+        registry.add("worker.approve.interval", () -> String.valueOf(INTERVAL_MILLIS));
+        registry.add("worker.notify.enabled", () -> String.valueOf(notify));
+    }
+
+    @Test
+    void createToApprovedLatency() throws InterruptedException {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            // Даём воркерам уйти в откат до максимальной паузы
+            Thread.sleep(INTERVAL_MILLIS);
+
+            DocumentCreateRequest request = new DocumentCreateRequest();
+            request.setAuthor("benchmark");
+            request.setTitle("latency " + i);
+
+            long start = System.nanoTime();
+            Long id = documentService.createDocument(request).getId();
+            awaitApproved(id);
+            latencies.add((System.nanoTime() - start) / 1_000_000);
+        }
+
+        Collections.sort(latencies);
+        long median = latencies.get(SAMPLES / 2);
+        System.out.printf("%s: median %d ms, max %d ms%n", getClass().getSimpleName(), median, latencies.get(SAMPLES - 1));
+
+        assertMedian(median);
+    }
+
+    protected abstract void assertMedian(long medianMillis);
+
+    private void awaitApproved(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 4 * INTERVAL_MILLIS;
+        while (documentRepository.findById(id).orElseThrow().getStatus() != DocumentStatus.APPROVED) {
+            assertThat(System.currentTimeMillis()).as("document %d approved in time", id).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
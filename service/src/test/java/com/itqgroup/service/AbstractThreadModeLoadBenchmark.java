@@ -0,0 +1,120 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.repository.DocumentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузка на GET /api/documents/{id} при числе клиентов больше пула Tomcat.
+ * Наследники отличают только режим потоков: платформенный пул Tomcat или виртуальные потоки.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class AbstractThreadModeLoadBenchmark extends AbstractPostgresIntegrationTest {
+
+    private static final int DOCUMENTS = 1_000;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    static void threadProperties(DynamicPropertyRegistry registry, boolean virtual) {
+        registry.add("spring.threads.virtual.enabled", () -> String.valueOf(virtual));
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "20");
+        registry.add("server.tomcat.threads.max", () -> "100");
+        // Логи каждого запроса исказили бы измерения
+        registry.add("logging.level.com.itqgroup", () -> "INFO");
+    }
+
+    @Test
+    void readLoad() throws InterruptedException {
+        List<Long> ids = createDocuments();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(CLIENTS * REQUESTS_PER_CLIENT));
+        ConcurrentMap<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+        long start = System.nanoTime();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.execute(() -> {
+                    try {
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                            HttpRequest request = HttpRequest.newBuilder(
+                                    URI.create("http://localhost:" + port + "/api/documents/" + id)).GET().build();
+                            long sent = System.nanoTime();
+                            int status = send(client, request);
+                            latencies.add((System.nanoTime() - sent) / 1_000);
+                            statuses.computeIfAbsent(status, key -> new AtomicInteger()).incrementAndGet();
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } finally {
+            clients.shutdown();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("%s: %,.0f req/s, p50 %.1f ms, p99 %.1f ms, statuses %s%n", getClass().getSimpleName(),
+                sorted.size() * 1000.0 / elapsedMillis,
+                sorted.get(sorted.size() / 2) / 1000.0,
+                sorted.get(sorted.size() * 99 / 100) / 1000.0,
+                statuses);
+
+        assertThat(statuses.keySet()).as("only successful or shed requests").isSubsetOf(200, 503);
+        assertThat(statuses.get(200).get()).isGreaterThan(sorted.size() / 2);
+    }
+
+    private static int send(HttpClient client, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private List<Long> createDocuments() {
+        List<Document> documents = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            Document document = new Document();
+            document.setAuthor("benchmark");
+            document.setTitle("load " + i);
+            documents.add(document);
+        }
+        return documentRepository.saveAll(documents).stream().map(Document::getId).toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.itqgroup.service.worker;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveScheduleTest {
+
+    private AdaptiveSchedule adaptive() {
+        return AdaptiveSchedule.builder()
+                .adaptive(true)
+                .batchSize(100)
+                .minBatchSize(10)
+                .maxBatchSize(1000)
+                .targetBatchMillis(2000)
+                .minDelayMillis(100)
+                .maxDelayMillis(10_000)
+                .build();
+    }
+
+    @Test
+    void fullBatches_ShouldRunAgainImmediatelyAndGrowBatchSize() {
+        AdaptiveSchedule schedule = adaptive();
+
+        schedule.record(new BatchResult(200, 200), 2, 300);
+
+        assertThat(schedule.delayMillis()).isZero();
+        assertThat(schedule.batchSize()).isEqualTo(125);
+    }
+
+    @Test
+    void emptyBatches_ShouldBackOffExponentiallyUpToMaxDelay() {
+        AdaptiveSchedule schedule = adaptive();
+
+        schedule.record(BatchResult.EMPTY, 2, 5);
+        assertThat(schedule.delayMillis()).isEqualTo(100);
+        schedule.record(BatchResult.EMPTY, 2, 5);
+        assertThat(schedule.delayMillis()).isEqualTo(200);
+
+        for (int i = 0; i < 20; i++) {
+            schedule.record(BatchResult.EMPTY, 2, 5);
+        }
+        assertThat(schedule.delayMillis()).isEqualTo(10_000);
+
+        schedule.record(new BatchResult(3, 3), 2, 50);
+        assertThat(schedule.delayMillis()).isEqualTo(100);
+    }
+
+    @Test
+    void slowBatches_ShouldShrinkBatchSizeTowardsTarget() {
+        AdaptiveSchedule schedule = adaptive();
+
+        schedule.record(new BatchResult(200, 200), 2, 8000);
+        assertThat(schedule.batchSize()).isEqualTo(25);
+
+        schedule.record(new BatchResult(50, 50), 2, 60_000);
+        assertThat(schedule.batchSize()).isEqualTo(10);
+    }
+
+    @Test
+    void wakeUpDuringTick_ShouldSkipDelayOnce() {
+        AdaptiveSchedule schedule = adaptive();
+
+        schedule.requestWakeUp();
+        schedule.record(BatchResult.EMPTY, 2, 5);
+        assertThat(schedule.delayMillis()).isZero();
+
+        schedule.record(BatchResult.EMPTY, 2, 5);
+        assertThat(schedule.delayMillis()).isEqualTo(100);
+    }
+
+    @Test
+    void nonAdaptiveMode_ShouldBehaveLikeFixedDelay() {
+        AdaptiveSchedule schedule = AdaptiveSchedule.builder()
+                .adaptive(false)
+                .batchSize(100)
+                .minDelayMillis(100)
+                .maxDelayMillis(10_000)
+                .build();
+
+        schedule.record(new BatchResult(100, 100), 1, 10);
+
+        assertThat(schedule.batchSize()).isEqualTo(100);
+        assertThat(schedule.nextDelayMillis()).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,97 @@
+package com.itqgroup.service.worker;
+
+import com.itqgroup.service.config.TaskThreads;
+import com.itqgroup.service.dto.DocumentActionRequest;
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.service.DocumentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdaptiveWorkerTest {
+
+    private static final int BATCHES = 30;
+
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final WorkerExecutor workerExecutor = new WorkerExecutor(4, TaskThreads.platform(), new SimpleMeterRegistry());
+    private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger processed = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        taskScheduler.shutdown();
+        workerExecutor.shutdown();
+    }
+
+    @Test
+    void wakeUpsDuringScheduledRuns_ShouldNeverStartSecondDrainer() throws InterruptedException {
+        taskScheduler.setPoolSize(4);
+        taskScheduler.initialize();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        AtomicInteger claims = new AtomicInteger();
+        when(documentRepository.claimByStatus(eq(DocumentStatus.DRAFT), any())).thenAnswer(invocation ->
+                claims.incrementAndGet() <= BATCHES ? List.of(new Document()) : List.of());
+
+        // Пачка из одного документа всегда полная: очередь разбирается тактами без пауз
+        WorkerProperties properties = new WorkerProperties();
+        properties.setBatchSize(1);
+        properties.getAdaptive().setMaxBatchSize(1);
+        properties.getSubmit().setPartitions(1);
+        TestWorker worker = new TestWorker(properties);
+        worker.start();
+
+        // Уведомления сыплются, пока цепочка тактов разбирает очередь
+        for (int i = 0; i < 200 && processed.get() < BATCHES; i++) {
+            worker.wakeUp();
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < 200 && processed.get() < BATCHES; i++) {
+            Thread.sleep(10);
+        }
+        worker.stop();
+
+        assertThat(processed.get()).isEqualTo(BATCHES);
+        assertThat(maxInFlight.get()).isEqualTo(1);
+    }
+
+    private class TestWorker extends AbstractAdaptiveWorker {
+
+        TestWorker(WorkerProperties properties) {
+            super("submit", DocumentStatus.DRAFT, properties, properties.getSubmit(), documentRepository,
+                    workerExecutor, mock(DocumentMetrics.class), transactionTemplate, taskScheduler);
+        }
+
+        @Override
+        protected long process(DocumentActionRequest request) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            processed.incrementAndGet();
+            return 1;
+        }
+    }
+}
@@ -4,22 +4,32 @@ import com.itqgroup.service.dto.ApproveResult;
 import com.itqgroup.service.dto.DocumentActionRequest;
 import com.itqgroup.service.model.ApprovalRegistry;
 import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.DocumentHistory;
+import com.itqgroup.service.model.enums.DocumentAction;
 import com.itqgroup.service.model.enums.DocumentStatus;
 import com.itqgroup.service.repository.ApprovalRegistryRepository;
+import com.itqgroup.service.repository.DocumentBatchRepository;
 import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.repository.HistoryRepository;
 import com.itqgroup.service.service.DocumentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -35,6 +45,12 @@ class BatchApproveIntegrationTest {
     @Autowired
     private ApprovalRegistryRepository registryRepository;
 
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @SpyBean
+    private DocumentBatchRepository batchRepository;
+
     private List<Document> submittedDocuments;
     private List<Document> draftDocuments;
 
@@ -145,4 +161,77 @@ class BatchApproveIntegrationTest {
 
         assertThat(results).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void approveDocuments_WithExistingRegistryEntry_ShouldReportRegistryErrorOnlyForThatDocument() {
+        Document conflicting = submittedDocuments.get(0);
+        ApprovalRegistry registry = new ApprovalRegistry();
+        registry.setDocumentId(conflicting.getId());
+        registry.setApprovedAt(LocalDateTime.now());
+        registry.setApprovedBy("someone-else");
+        registryRepository.save(registry);
+
+        List<Long> ids = submittedDocuments.stream()
+                .map(Document::getId)
+                .collect(Collectors.toList());
+
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(ids);
+        request.setUserId("approve-user");
+
+        List<ApproveResult> results = documentService.approveDocuments(request);
+
+        assertThat(results).extracting(ApproveResult::getDocumentId).containsExactlyElementsOf(ids);
+        assertThat(results.get(0).getStatus()).isEqualTo(ApproveResult.Status.REGISTRY_ERROR);
+        assertThat(results.subList(1, results.size())).allMatch(r -> r.getStatus() == ApproveResult.Status.SUCCESS);
+
+        assertThat(documentRepository.findById(conflicting.getId()).orElseThrow().getStatus())
+                .isEqualTo(DocumentStatus.SUBMITTED);
+        assertThat(historyRepository.findByDocumentIdOrderByTimestampDesc(ids.get(1)))
+                .extracting(DocumentHistory::getAction)
+                .contains(DocumentAction.APPROVE);
+    }
+
+    @Test
+    void approveDocuments_WhenRegistryInsertFailsForOneDocument_ShouldKeepRestOfChunk() {
+        Long failingId = submittedDocuments.get(2).getId();
+        doAnswer(invocation -> {
+            Collection<?> documentIds = invocation.getArgument(0);
+            if (documentIds.contains(failingId)) {
+                throw new DataIntegrityViolationException("duplicate registry entry");
+            }
+            return invocation.callRealMethod();
+        }).when(batchRepository).insertRegistry(any(), any(), any());
+
+        List<Long> ids = submittedDocuments.stream()
+                .map(Document::getId)
+                .collect(Collectors.toList());
+
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(ids);
+        request.setUserId("approve-user");
+
+        List<ApproveResult> results = documentService.approveDocuments(request);
+
+        assertThat(results).hasSize(5);
+        assertThat(results).filteredOn(r -> r.getDocumentId().equals(failingId))
+                .singleElement()
+                .extracting(ApproveResult::getStatus)
+                .isEqualTo(ApproveResult.Status.REGISTRY_ERROR);
+        assertThat(results).filteredOn(r -> !r.getDocumentId().equals(failingId))
+                .allMatch(r -> r.getStatus() == ApproveResult.Status.SUCCESS);
+
+        // Откатилась только точка сохранения упавшего документа
+        assertThat(documentRepository.findById(failingId).orElseThrow().getStatus())
+                .isEqualTo(DocumentStatus.SUBMITTED);
+        assertThat(historyRepository.findByDocumentIdOrderByTimestampDesc(failingId))
+                .extracting(DocumentHistory::getAction)
+                .doesNotContain(DocumentAction.APPROVE);
+        for (Long id : ids) {
+            if (!id.equals(failingId)) {
+                assertThat(documentRepository.findById(id).orElseThrow().getStatus()).isEqualTo(DocumentStatus.APPROVED);
+                assertThat(registryRepository.existsByDocumentId(id)).isTrue();
+            }
+        }
+    }
+}
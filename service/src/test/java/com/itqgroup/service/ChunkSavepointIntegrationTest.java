@@ -0,0 +1,97 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.dto.DocumentActionRequest;
+import com.itqgroup.service.dto.SubmitResult;
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.service.DocumentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ошибка одного документа внутри части откатывает только его точку сохранения:
+ * остальные документы той же части фиксируются, а транзакция запроса не помечается на откат.
+ */
+class ChunkSavepointIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final int DOCUMENTS = 10;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM approval_registry");
+        jdbcTemplate.update("DELETE FROM document_history");
+        jdbcTemplate.update("DELETE FROM document");
+
+        List<Document> documents = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            Document document = new Document();
+            document.setAuthor("savepoint");
+            document.setTitle("Document " + i);
+            documents.add(document);
+        }
+        ids = transactionTemplate.execute(status -> documentRepository.saveAll(documents)).stream()
+                .map(Document::getId)
+                .collect(Collectors.toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS fail_document_update ON document");
+        jdbcTemplate.execute("DROP FUNCTION IF EXISTS fail_document_update()");
+    }
+
+    @Test
+    void submitDocuments_WhenOneDocumentFailsInsideChunk_ShouldCommitOthers() {
+        long failingId = ids.get(DOCUMENTS / 2);
+        jdbcTemplate.execute("CREATE FUNCTION fail_document_update() RETURNS trigger AS $$ BEGIN "
+                + "IF NEW.id = " + failingId + " THEN RAISE EXCEPTION 'forced failure'; END IF; "
+                + "RETURN NEW; END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE TRIGGER fail_document_update BEFORE UPDATE ON document "
+                + "FOR EACH ROW EXECUTE FUNCTION fail_document_update()");
+
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(ids);
+        request.setUserId("savepoint-user");
+
+        Map<Long, SubmitResult> results = documentService.submitDocuments(request).stream()
+                .collect(Collectors.toMap(SubmitResult::getDocumentId, Function.identity()));
+
+        assertThat(results.get(failingId).getStatus()).isEqualTo(SubmitResult.Status.ERROR);
+        assertThat(results.values().stream().filter(r -> r.getStatus() == SubmitResult.Status.SUCCESS))
+                .hasSize(DOCUMENTS - 1);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM document WHERE status = 'SUBMITTED'", Long.class))
+                .hasSize(DOCUMENTS - 1)
+                .doesNotContain(failingId);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM document_history WHERE document_id = ?", Integer.class, failingId))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM document_history", Integer.class))
+                .isEqualTo(DOCUMENTS - 1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.itqgroup.service.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DbPermitFilterTest {
+
+    private final DbPermits permits = new DbPermits(1, Duration.ofSeconds(5));
+    private final DbPermitFilter filter = new DbPermitFilter(permits, Duration.ofMillis(50));
+
+    @Test
+    void request_ShouldHoldPermitWhileHandledAndReleaseIt() throws Exception {
+        AtomicInteger availableInside = new AtomicInteger(-1);
+        FilterChain chain = (request, response) -> availableInside.set(permits.getAvailable());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/documents/1"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(availableInside).hasValue(0);
+        assertThat(permits.getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    void requestWithoutPermit_ShouldGetServiceUnavailable() throws Exception {
+        assertThat(permits.tryAcquire(Duration.ZERO)).isTrue();
+        AtomicInteger handled = new AtomicInteger();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/documents/1"), response,
+                (request, servletResponse) -> handled.incrementAndGet());
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(handled).hasValue(0);
+        permits.release();
+        assertThat(permits.getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    void gatedTask_ShouldWaitForPermit() throws Exception {
+        assertThat(permits.tryAcquire(Duration.ZERO)).isTrue();
+        AtomicInteger runs = new AtomicInteger();
+        Thread worker = new Thread(permits.gated(runs::incrementAndGet));
+        worker.start();
+
+        worker.join(100);
+        assertThat(runs).hasValue(0);
+
+        permits.release();
+        worker.join(1_000);
+        assertThat(runs).hasValue(1);
+        assertThat(permits.getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    void requestFanningOutWhilePermitsSaturated_ShouldCompleteAfterTaskTimeout() throws Exception {
+        DbPermits saturated = new DbPermits(1, Duration.ofMillis(100));
+        DbPermitFilter saturatedFilter = new DbPermitFilter(saturated, Duration.ofMillis(50));
+        ExecutorService executor = TaskThreads.platform().newExecutor("saturated", 4);
+        AtomicInteger runs = new AtomicInteger();
+        try {
+            // Запрос держит единственное разрешение и ждёт задачи, которым тоже нужно разрешение
+            FilterChain fanOut = (request, response) -> {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    futures.add(executor.submit(saturated.gated(runs::incrementAndGet)));
+                }
+                for (Future<?> future : futures) {
+                    try {
+                        future.get(5, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            saturatedFilter.doFilter(new MockHttpServletRequest("POST", "/api/test/concurrent-approve/1"), response, fanOut);
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(runs).hasValue(4);
+            assertThat(saturated.getAvailable()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.dto.DocumentResponse;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DocumentCacheTest {
+
+    private final DocumentService documentService = mock(DocumentService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DocumentCache documentCache = new DocumentCache(documentService, meterRegistry, 100,
+            Duration.ofHours(24));
+
+    @Test
+    void repeatedReads_ShouldLoadOnceAndCountHits() {
+        when(documentService.getDocumentWithHistory(1L)).thenReturn(document(1L, DocumentStatus.APPROVED));
+
+        documentCache.getDocumentWithHistory(1L);
+        documentCache.getDocumentWithHistory(1L);
+        documentCache.getDocumentWithHistory(1L);
+
+        verify(documentService, times(1)).getDocumentWithHistory(1L);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "documents", "result", "hit")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "documents", "result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void nonTerminalDocuments_ShouldAlwaysBeReadFromDatabase() {
+        // DRAFT и SUBMITTED может перевести другой экземпляр, поэтому их ответ не кэшируется
+        when(documentService.getDocumentWithHistory(1L))
+                .thenReturn(document(1L, DocumentStatus.DRAFT), document(1L, DocumentStatus.SUBMITTED),
+                        document(1L, DocumentStatus.APPROVED));
+
+        assertThat(documentCache.getDocumentWithHistory(1L).getStatus()).isEqualTo(DocumentStatus.DRAFT);
+        assertThat(documentCache.getDocumentWithHistory(1L).getStatus()).isEqualTo(DocumentStatus.SUBMITTED);
+        assertThat(documentCache.getDocumentWithHistory(1L).getStatus()).isEqualTo(DocumentStatus.APPROVED);
+        assertThat(documentCache.getDocumentWithHistory(1L).getStatus()).isEqualTo(DocumentStatus.APPROVED);
+
+        verify(documentService, times(3)).getDocumentWithHistory(1L);
+    }
+
+    @Test
+    void missingDocument_ShouldNotBeCached() {
+        when(documentService.getDocumentWithHistory(3L)).thenThrow(new RuntimeException("Document not found with id: 3"));
+
+        assertThatThrownBy(() -> documentCache.getDocumentWithHistory(3L)).hasMessageContaining("not found");
+        assertThatThrownBy(() -> documentCache.getDocumentWithHistory(3L)).hasMessageContaining("not found");
+
+        verify(documentService, times(2)).getDocumentWithHistory(3L);
+    }
+
+    private static DocumentResponse document(Long id, DocumentStatus status) {
+        return DocumentResponse.builder().id(id).status(status).history(List.of()).build();
+    }
+}
@@ -1,23 +1,33 @@
 package com.itqgroup.service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
 import com.itqgroup.service.dto.DocumentCreateRequest;
 import com.itqgroup.service.dto.DocumentActionRequest;
 import com.itqgroup.service.model.Document;
 import com.itqgroup.service.model.enums.DocumentStatus;
 import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.service.DocumentStatusNotifier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +47,12 @@ class DocumentControllerTest {
     @Autowired
     private DocumentRepository documentRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DocumentStatusNotifier statusNotifier;
+
     private Document testDocument;
 
     @BeforeEach
@@ -73,6 +89,115 @@ class DocumentControllerTest {
                 .andExpect(jsonPath("$.history").isArray());
     }
 
+    @Test
+    void getDocument_WithMatchingVersion_ShouldReturnNotModifiedUntilStatusChanges() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/documents/{id}", testDocument.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"" + testDocument.getId() + "-")))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/documents/{id}", testDocument.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/documents/{id}", testDocument.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(List.of(testDocument.getId()));
+        request.setUserId("test-user");
+        mockMvc.perform(post("/api/documents/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/documents/{id}", testDocument.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void getDocument_BodyOlderThanVersion_ShouldTagResponseWithServedVersion() throws Exception {
+        testDocument.submit("user", "comment");
+        testDocument.approve("user", "comment");
+        documentRepository.saveAndFlush(testDocument);
+        String etag = mockMvc.perform(get("/api/documents/{id}", testDocument.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Версия в БД ушла вперёд, а тело отдаётся из кэша
+        entityManager.createNativeQuery("UPDATE document SET updated_at = ? WHERE id = ?")
+                .setParameter(1, testDocument.getUpdatedAt().plusSeconds(1))
+                .setParameter(2, testDocument.getId())
+                .executeUpdate();
+
+        MvcResult stale = mockMvc.perform(get("/api/documents/{id}", testDocument.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(stale.getResponse().getHeaders(HttpHeaders.ETAG)).containsExactly(etag);
+        // Отдаваемое тело совпадает с тем, что уже есть у клиента
+        mockMvc.perform(get("/api/documents/{id}", testDocument.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void awaitStatus_AlreadyReached_ShouldReturnDocumentWithoutWaiting() throws Exception {
+        testDocument.submit("user", "comment");
+        documentRepository.saveAndFlush(testDocument);
+
+        MvcResult result = mockMvc.perform(get("/api/documents/{id}/await", testDocument.getId())
+                        .param("status", "SUBMITTED")
+                        .param("timeout", "5s"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(testDocument.getId()))
+                .andExpect(jsonPath("$.status").value("SUBMITTED"));
+    }
+
+    @Test
+    void awaitStatus_WithTooLongTimeout_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/documents/{id}/await", testDocument.getId())
+                        .param("status", "APPROVED")
+                        .param("timeout", "1h"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamStatusChanges_ShouldStartWithCurrentStatuses() throws Exception {
+        mockMvc.perform(get("/api/documents/events").param("ids", testDocument.getId().toString(), "999999"))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().string(containsString("event:status")))
+                .andExpect(content().string(containsString("\"documentId\":" + testDocument.getId())))
+                .andExpect(content().string(containsString("\"status\":\"DRAFT\"")))
+                .andExpect(content().string(not(containsString("999999"))));
+    }
+
+    @Test
+    void streamStatusChanges_ShouldSendEachDocumentStatusOnlyForward() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/documents/events").param("ids", testDocument.getId().toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Повтор снимка и устаревший статус после перехода не отправляются
+        statusNotifier.publish(List.of(testDocument.getId()), DocumentStatus.DRAFT);
+        statusNotifier.publish(List.of(testDocument.getId()), DocumentStatus.SUBMITTED);
+        statusNotifier.publish(List.of(testDocument.getId()), DocumentStatus.DRAFT);
+        for (int i = 0; i < 100 && !stream.getResponse().getContentAsString().contains("SUBMITTED"); i++) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(100);
+
+        String content = stream.getResponse().getContentAsString();
+        assertThat(content.split("\"status\":\"DRAFT\"", -1)).hasSize(2);
+        assertThat(content.split("\"status\":\"SUBMITTED\"", -1)).hasSize(2);
+        assertThat(content.indexOf("DRAFT")).isLessThan(content.indexOf("SUBMITTED"));
+    }
+
     @Test
     void getDocuments_WithIds_ShouldReturnList() throws Exception {
         mockMvc.perform(get("/api/documents")
@@ -109,4 +234,119 @@ class DocumentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchDocuments_WithCursor_ShouldWalkAllPagesOnce() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            Document document = new Document();
+            document.setAuthor("Cursor Author");
+            document.setTitle("Cursor " + i);
+            documentRepository.save(document);
+        }
+        // Курсор строится по значениям из БД, как в отдельных запросах
+        entityManager.flush();
+        entityManager.clear();
+
+        Set<Integer> seen = new HashSet<>();
+        String cursor = "";
+        int pages = 0;
+        while (cursor != null) {
+            MvcResult result = mockMvc.perform(get("/api/documents/search")
+                            .param("author", "Cursor Author")
+                            .param("size", "3")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            List<Integer> ids = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+            ids.forEach(id -> assertThat(seen.add(id)).isTrue());
+            cursor = result.getResponse().getHeader("X-Next-Cursor");
+            pages++;
+        }
+
+        assertThat(seen).hasSize(4);
+        assertThat(pages).isEqualTo(2);
+    }
+
+    @Test
+    void searchDocuments_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/documents/search")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportDocuments_ShouldStreamNdjson() throws Exception {
+        // Выгрузка читает в своей транзакции на потоке запроса, поэтому данные закоммичены и удаляются в конце
+        List<Document> exported = new ArrayList<>();
+        for (String title : List.of("Export One", "Export Two")) {
+            Document document = new Document();
+            document.setAuthor("Export Test");
+            document.setTitle(title);
+            exported.add(documentRepository.save(document));
+        }
+        try {
+            MvcResult result = mockMvc.perform(get("/api/documents/export")
+                            .param("author", "Export Test"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            List<String> lines = body.lines().toList();
+            assertThat(body).endsWith("\n");
+            assertThat(lines).hasSize(2);
+            // Порядок поиска: новые первыми
+            assertThat(lines).extracting(line -> JsonPath.<String>read(line, "$.title"))
+                    .containsExactly("Export Two", "Export One");
+            assertThat(lines).allSatisfy(line -> assertThat(JsonPath.<String>read(line, "$.author")).isEqualTo("Export Test"));
+        } finally {
+            documentRepository.deleteAll(exported);
+            documentRepository.delete(testDocument);
+        }
+    }
+
+    @Test
+    void createDocuments_ShouldReturnPerItemResults() throws Exception {
+        mockMvc.perform(post("/api/documents/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"author\":\"Batch\",\"title\":\"One\"},{\"author\":\"\",\"title\":\"Two\"},"
+                                + "{\"author\":\"Batch\",\"title\":\"Three\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].documentId").isNumber())
+                .andExpect(jsonPath("$[0].uniqueNumber", startsWith("DOC-")))
+                .andExpect(jsonPath("$[1].status").value("INVALID"))
+                .andExpect(jsonPath("$[1].message", containsString("author")))
+                .andExpect(jsonPath("$[2].status").value("CREATED"));
+    }
+
+    @Test
+    void createDocuments_FromNdjson_ShouldCreateEachLine() throws Exception {
+        mockMvc.perform(post("/api/documents/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"author\":\"Batch\",\"title\":\"One\"}\n{\"author\":\"Batch\",\"title\":\"Two\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].status", everyItem(is("CREATED"))));
+    }
+
+    @Test
+    void importCsv_WithoutTitleColumn_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/documents/import")
+                        .contentType("text/csv")
+                        .content("author,name\nImport,One\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void getImport_UnknownJob_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/documents/import/{jobId}", "00000000-0000-0000-0000-000000000000"))
+                .andExpect(status().isNotFound());
+    }
+}
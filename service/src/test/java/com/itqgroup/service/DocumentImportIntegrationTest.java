@@ -0,0 +1,120 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.dto.ImportJobResponse;
+import com.itqgroup.service.exception.BadRequestException;
+import com.itqgroup.service.service.DocumentImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Импорт через COPY на настоящем PostgreSQL: несколько частей с коммитами, отклонённые строки,
+ * id из общей последовательности и уникальные номера.
+ */
+@TestPropertySource(properties = {
+        "document.import.commit-size=1000",
+        "document.import.max-size=1MB",
+        // Завершённые задачи удаляются при первой очистке; по расписанию она за время теста не запускается
+        "document.import.retention=0s",
+        "document.import.purge-interval=3600000"
+})
+class DocumentImportIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private DocumentImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM document_history");
+        jdbcTemplate.update("DELETE FROM approval_registry");
+        jdbcTemplate.update("DELETE FROM document");
+    }
+
+    @Test
+    void ndjsonImport_ShouldCopyValidRowsInSeveralCommits() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            body.append("{\"author\":\"import-").append(i % 10).append("\",\"title\":\"Title \\\"").append(i).append("\\\"\"}\n");
+        }
+        body.append("{\"author\":\"\",\"title\":\"No author\"}\n");
+
+        ImportJobResponse job = awaitImport(importService.startImport(
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)),
+                ImportJobResponse.Format.NDJSON));
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobResponse.Status.COMPLETED);
+        assertThat(job.getRowsImported()).isEqualTo(2500);
+        assertThat(job.getRowsRejected()).isEqualTo(1);
+        assertThat(job.getErrors()).containsExactly("line 2501: author: Author is required");
+        assertThat(job.getRowsPerSecond()).isPositive();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT unique_number) FROM document WHERE status = 'DRAFT'", Long.class)).isEqualTo(2500);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM document WHERE title = 'Title \"42\"'", Long.class)).isEqualTo(1);
+
+        // Следующая вставка через JPA берёт id из той же последовательности без пересечений
+        Long maxImportedId = jdbcTemplate.queryForObject("SELECT max(id) FROM document", Long.class);
+        jdbcTemplate.update("INSERT INTO document (unique_number, author, title, status, created_at, updated_at) "
+                + "VALUES ('AFTER-IMPORT', 'a', 't', 'DRAFT', now(), now())");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT id FROM document WHERE unique_number = 'AFTER-IMPORT'", Long.class)).isGreaterThan(maxImportedId);
+    }
+
+    @Test
+    void csvImport_ShouldCopyRows() throws Exception {
+        String body = "author,title\nIvan,\"Report, final\"\nPetr,Plan\n";
+
+        ImportJobResponse job = awaitImport(importService.startImport(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ImportJobResponse.Format.CSV));
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobResponse.Status.COMPLETED);
+        assertThat(job.getRowsImported()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM document ORDER BY id", String.class))
+                .containsExactly("Report, final", "Plan");
+    }
+
+    @Test
+    void oversizedBody_ShouldBeRejectedBeforeImport() {
+        byte[] body = new byte[1024 * 1024 + 1];
+
+        assertThatThrownBy(() -> importService.startImport(new ByteArrayInputStream(body), ImportJobResponse.Format.NDJSON))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("exceeds the maximum");
+    }
+
+    @Test
+    void finishedImport_ShouldBePurgedAfterRetention() throws Exception {
+        ImportJobResponse job = awaitImport(importService.startImport(
+                new ByteArrayInputStream("author,title\nIvan,Plan\n".getBytes(StandardCharsets.UTF_8)),
+                ImportJobResponse.Format.CSV));
+
+        importService.purgeFinishedImports();
+
+        assertThat(importService.getImport(job.getJobId())).isEmpty();
+    }
+
+    private ImportJobResponse awaitImport(ImportJobResponse started) throws InterruptedException {
+        UUID jobId = started.getJobId();
+        for (int attempt = 0; attempt < 300; attempt++) {
+            ImportJobResponse job = importService.getImport(jobId).orElseThrow();
+            if (job.getStatus() == ImportJobResponse.Status.COMPLETED || job.getStatus() == ImportJobResponse.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import " + jobId + " did not finish in time");
+    }
+}
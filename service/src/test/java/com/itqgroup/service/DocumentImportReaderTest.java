@@ -0,0 +1,108 @@
+package com.itqgroup.service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itqgroup.service.dto.ImportJobResponse;
+import com.itqgroup.service.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentImportReaderTest {
+
+    private static final int MAX_RECORD_LENGTH = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void csv_ShouldMapColumnsByHeaderAndKeepQuotedCommasAndNewlines() throws IOException {
+        List<DocumentImportReader.ImportRow> rows = readAll(ImportJobResponse.Format.CSV,
+                "title,extra,author\n"
+                        + "Report,x,Ivan\n"
+                        + "\n"
+                        + "\"Plan, \"\"Q1\"\"\",y,\"Petrov\n Petr\"\n"
+                        + "Short\n");
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).document().getAuthor()).isEqualTo("Ivan");
+        assertThat(rows.get(0).document().getTitle()).isEqualTo("Report");
+        assertThat(rows.get(0).line()).isEqualTo(2);
+
+        assertThat(rows.get(1).document().getTitle()).isEqualTo("Plan, \"Q1\"");
+        assertThat(rows.get(1).document().getAuthor()).isEqualTo("Petrov\n Petr");
+        assertThat(rows.get(1).line()).isEqualTo(4);
+
+        assertThat(rows.get(2).document()).isNull();
+        assertThat(rows.get(2).line()).isEqualTo(6);
+        assertThat(rows.get(2).error()).contains("Expected at least 3 columns");
+    }
+
+    @Test
+    void csvWithoutRequiredColumns_ShouldBeRejectedOnOpen() throws IOException {
+        Path file = write("author,name\nIvan,Report\n");
+
+        assertThatThrownBy(() -> DocumentImportReader.open(file, ImportJobResponse.Format.CSV, objectMapper, MAX_RECORD_LENGTH))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("author and title");
+    }
+
+    @Test
+    void ndjson_ShouldRejectMalformedLinesAndContinue() throws IOException {
+        List<DocumentImportReader.ImportRow> rows = readAll(ImportJobResponse.Format.NDJSON,
+                "{\"author\":\"Ivan\",\"title\":\"One\"}\n"
+                        + "{\"author\":\n"
+                        + "null\n"
+                        + "{\"author\":\"Petr\",\"title\":\"Two\"}\n");
+
+        assertThat(rows).hasSize(4);
+        assertThat(rows.get(0).document().getTitle()).isEqualTo("One");
+        assertThat(rows.get(1).error()).startsWith("Malformed JSON");
+        assertThat(rows.get(2).error()).isEqualTo("Document is required");
+        assertThat(rows.get(3).document().getAuthor()).isEqualTo("Petr");
+        assertThat(rows.get(3).line()).isEqualTo(4);
+    }
+
+    @Test
+    void csvWithUnterminatedQuote_ShouldRejectRecordAtLengthLimitAndContinue() throws IOException {
+        StringBuilder content = new StringBuilder("author,title\nIvan,\"Unterminated\n");
+        for (int i = 0; i < 20; i++) {
+            content.append("continuation line ").append(i).append('\n');
+        }
+        content.append("Petr,Report\n");
+
+        List<DocumentImportReader.ImportRow> rows = readAll(ImportJobResponse.Format.CSV, content.toString());
+
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).error()).contains("longer than " + MAX_RECORD_LENGTH);
+        DocumentImportReader.ImportRow last = rows.get(rows.size() - 1);
+        assertThat(last.document().getAuthor()).isEqualTo("Petr");
+        assertThat(last.line()).isEqualTo(23);
+    }
+
+    private List<DocumentImportReader.ImportRow> readAll(ImportJobResponse.Format format, String content)
+            throws IOException {
+        List<DocumentImportReader.ImportRow> rows = new ArrayList<>();
+        try (DocumentImportReader reader = DocumentImportReader.open(write(content), format, objectMapper, MAX_RECORD_LENGTH)) {
+            DocumentImportReader.ImportRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "import-", ".txt"), content, StandardCharsets.UTF_8);
+    }
+}
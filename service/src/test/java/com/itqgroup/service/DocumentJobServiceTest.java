@@ -0,0 +1,142 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.dto.DocumentJobItemResponse;
+import com.itqgroup.service.dto.DocumentJobRequest;
+import com.itqgroup.service.dto.DocumentJobResponse;
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.DocumentJob;
+import com.itqgroup.service.model.enums.DocumentAction;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.model.enums.JobStatus;
+import com.itqgroup.service.repository.DocumentJobItemRepository;
+import com.itqgroup.service.repository.DocumentJobRepository;
+import com.itqgroup.service.repository.DocumentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Задачи выполняются в своих потоках, поэтому тест без общей транзакции и чистит за собой.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DocumentJobServiceTest {
+
+    @Autowired
+    private DocumentJobService jobService;
+
+    @Autowired
+    private DocumentJobRepository jobRepository;
+
+    @Autowired
+    private DocumentJobItemRepository itemRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> documentIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 4; i++) {
+            Document document = new Document();
+            document.setAuthor("Job Author");
+            document.setTitle("Job Title " + i);
+            documentIds.add(documentRepository.save(document).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM document_job_item");
+        jdbcTemplate.update("DELETE FROM document_job");
+        jdbcTemplate.update("DELETE FROM document_history WHERE document_id IN (SELECT id FROM document WHERE author = 'Job Author')");
+        jdbcTemplate.update("DELETE FROM document WHERE author = 'Job Author'");
+    }
+
+    @Test
+    void submitJob_ShouldProcessAllItemsAndPersistResults() throws InterruptedException {
+        DocumentJobRequest request = new DocumentJobRequest();
+        List<Long> ids = new ArrayList<>(documentIds);
+        ids.add(-1L);
+        request.setIds(ids);
+        request.setUserId("job-user");
+
+        DocumentJobResponse created = jobService.createJob(DocumentAction.SUBMIT, request);
+        assertThat(created.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(created.getTotal()).isEqualTo(5);
+
+        DocumentJobResponse job = awaitJob(created.getJobId());
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(5);
+        assertThat(job.getSucceeded()).isEqualTo(4);
+        assertThat(job.getFailed()).isEqualTo(1);
+        assertThat(job.getSummary()).isEqualTo(Map.of("SUCCESS", 4L, "NOT_FOUND", 1L));
+
+        List<DocumentJobItemResponse> failed = jobService.getJobResults(created.getJobId(), 0, "NOT_FOUND", 100);
+        assertThat(failed).singleElement().satisfies(item -> {
+            assertThat(item.getIndex()).isEqualTo(4);
+            assertThat(item.getDocumentId()).isEqualTo(-1L);
+        });
+        assertThat(documentRepository.findAllById(documentIds))
+                .allMatch(document -> document.getStatus() == DocumentStatus.SUBMITTED);
+    }
+
+    @Test
+    void interruptedJob_ShouldResumeFromFirstUnprocessedItem() throws InterruptedException {
+        // Задача, которую вёл остановившийся экземпляр: первые два элемента уже обработаны
+        DocumentJob job = new DocumentJob();
+        job.setId(UUID.randomUUID());
+        job.setAction(DocumentAction.SUBMIT);
+        job.setStatus(JobStatus.RUNNING);
+        job.setUserId("job-user");
+        job.setTotal(documentIds.size());
+        job.setProcessed(2);
+        job.setSucceeded(2);
+        job.setCreatedAt(LocalDateTime.now().minusHours(1));
+        job.setStartedAt(LocalDateTime.now().minusHours(1));
+        job.setHeartbeatAt(LocalDateTime.now().minusHours(1));
+        jobRepository.save(job);
+        itemRepository.insertItems(job.getId(), documentIds);
+
+        jobService.dispatchPendingJobs();
+        DocumentJobResponse resumed = awaitJob(job.getId());
+
+        assertThat(resumed.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(resumed.getProcessed()).isEqualTo(4);
+        assertThat(resumed.getSucceeded()).isEqualTo(4);
+        assertThat(documentRepository.findAllById(documentIds).stream().map(Document::getStatus))
+                .containsExactlyInAnyOrder(DocumentStatus.DRAFT, DocumentStatus.DRAFT,
+                        DocumentStatus.SUBMITTED, DocumentStatus.SUBMITTED);
+        assertThat(jobService.getJobResults(job.getId(), 2, null, 100))
+                .extracting(DocumentJobItemResponse::getDocumentId)
+                .containsExactly(documentIds.get(2), documentIds.get(3));
+    }
+
+    private DocumentJobResponse awaitJob(UUID jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            DocumentJobResponse job = jobService.getJob(jobId).orElseThrow();
+            if (job.getStatus() == JobStatus.COMPLETED || job.getStatus() == JobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Job " + jobId + " did not finish in time");
+    }
+}
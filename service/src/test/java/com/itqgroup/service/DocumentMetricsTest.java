@@ -0,0 +1,96 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.dto.ApproveResult;
+import com.itqgroup.service.dto.SubmitResult;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.repository.DocumentStatusCounterRepository;
+import com.itqgroup.service.repository.DocumentStatusCounterRepository.StatusCount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DocumentMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final DocumentStatusCounterRepository counterRepository = mock(DocumentStatusCounterRepository.class);
+    private final DocumentMetrics metrics = new DocumentMetrics(meterRegistry, documentRepository, counterRepository);
+
+    @Test
+    void submitAndApprove_ShouldCountResultsPerStatusAndTimeOperations() {
+        metrics.recordSubmit(metrics.start(), List.of(
+                SubmitResult.success(1L), SubmitResult.success(2L), SubmitResult.notFound(3L)));
+        metrics.recordApprove(metrics.start(), List.of(ApproveResult.registryError(4L)));
+
+        assertThat(resultCount("submit", "SUCCESS")).isEqualTo(2.0);
+        assertThat(resultCount("submit", "NOT_FOUND")).isEqualTo(1.0);
+        assertThat(resultCount("submit", "CONFLICT")).isZero();
+        assertThat(resultCount("approve", "REGISTRY_ERROR")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("document.operation").tag("operation", "submit").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("document.operation.size").tag("operation", "submit").summary().totalAmount())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    void workerClaim_ShouldRecordLatencyAndBatchSize() {
+        // Метры захвата зарегистрированы при создании, до первой пачки
+        assertThat(meterRegistry.get("document.worker.claim").tag("worker", "submit").timer().count()).isZero();
+
+        metrics.recordClaim("approve", 5_000_000L, 40);
+        metrics.recordClaim("approve", 1_000_000L, 10);
+
+        assertThat(meterRegistry.get("document.worker.claim").tag("worker", "approve").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("document.worker.batch.size").tag("worker", "approve").summary().totalAmount())
+                .isEqualTo(50.0);
+    }
+
+    @Test
+    void queueGauges_ShouldReadRefreshedSnapshot() {
+        when(counterRepository.sumByStatus()).thenReturn(List.of(
+                count(DocumentStatus.DRAFT, 12L), count(DocumentStatus.APPROVED, 100L)));
+        when(documentRepository.findOldestCreatedAt(DocumentStatus.DRAFT))
+                .thenReturn(Optional.of(LocalDateTime.now().minusMinutes(2)));
+        when(documentRepository.findOldestCreatedAt(DocumentStatus.SUBMITTED)).thenReturn(Optional.empty());
+
+        assertThat(gauge("document.queue.depth", DocumentStatus.DRAFT)).isZero();
+
+        metrics.refreshQueues();
+
+        assertThat(gauge("document.queue.depth", DocumentStatus.DRAFT)).isEqualTo(12.0);
+        assertThat(gauge("document.queue.depth", DocumentStatus.SUBMITTED)).isZero();
+        assertThat(gauge("document.queue.depth", DocumentStatus.APPROVED)).isEqualTo(100.0);
+        assertThat(gauge("document.queue.lag", DocumentStatus.DRAFT)).isCloseTo(120.0, within(5.0));
+        assertThat(gauge("document.queue.lag", DocumentStatus.SUBMITTED)).isZero();
+    }
+
+    private static StatusCount count(DocumentStatus status, long documentCount) {
+        return new StatusCount() {
+            @Override
+            public DocumentStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getDocumentCount() {
+                return documentCount;
+            }
+        };
+    }
+
+    private double resultCount(String action, String status) {
+        return meterRegistry.get("document.action.results").tags("action", action, "status", status).counter().count();
+    }
+
+    private double gauge(String name, DocumentStatus status) {
+        return meterRegistry.get(name).tag("status", status.name()).gauge().value();
+    }
+}
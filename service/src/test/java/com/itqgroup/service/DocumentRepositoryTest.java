@@ -1,20 +1,26 @@
 package com.itqgroup.service.repository;
 
+import com.itqgroup.service.config.UniqueNumberConfig;
+import com.itqgroup.service.dto.DocumentSummary;
 import com.itqgroup.service.model.Document;
 import com.itqgroup.service.model.enums.DocumentStatus;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(UniqueNumberConfig.class)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
 class DocumentRepositoryTest {
 
@@ -84,4 +90,59 @@ class DocumentRepositoryTest {
         assertThat(drafts).hasSize(2);
         assertThat(drafts).allMatch(d -> d.getStatus() == DocumentStatus.DRAFT);
     }
-}
\ No newline at end of file
+
+    @Test
+    void claimByStatus_ShouldReturnOldestDocumentsInStatus() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            Document draft = new Document();
+            draft.setAuthor("Claim Author " + i);
+            draft.setTitle("Claim Title " + i);
+            documentRepository.save(draft);
+        }
+
+        // When
+        List<Document> claimed = documentRepository.claimByStatus(DocumentStatus.DRAFT, PageRequest.of(0, 2));
+
+        // Then
+        assertThat(claimed).hasSize(2);
+        assertThat(claimed).allMatch(d -> d.getStatus() == DocumentStatus.DRAFT);
+        assertThat(documentRepository.findAll()).filteredOn(d -> d.getStatus() == DocumentStatus.DRAFT).hasSize(3);
+    }
+
+    @Test
+    void searchSummaries_ShouldApplyOnlySuppliedFilters() {
+        // Given
+        Document draft = new Document();
+        draft.setAuthor("Search Author");
+        draft.setTitle("Draft");
+        documentRepository.save(draft);
+
+        Document submitted = new Document();
+        submitted.setAuthor("Search Author");
+        submitted.setTitle("Submitted");
+        submitted.submit("user", "comment");
+        documentRepository.save(submitted);
+
+        Document other = new Document();
+        other.setAuthor("Other Author");
+        other.setTitle("Other");
+        documentRepository.save(other);
+
+        LocalDateTime from = LocalDateTime.now().minusHours(1);
+        LocalDateTime to = LocalDateTime.now().plusHours(1);
+        PageRequest page = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+
+        // When: автор и даты без статуса
+        List<DocumentSummary> byAuthorAndDates = documentRepository.searchSummaries(
+                DocumentSpecifications.filter(null, "Search Author", from, to), page);
+        // Статус без дат
+        List<DocumentSummary> byStatus = documentRepository.searchSummaries(
+                DocumentSpecifications.filter(DocumentStatus.SUBMITTED, null, null, null), page);
+
+        // Then
+        assertThat(byAuthorAndDates).extracting(DocumentSummary::title)
+                .containsExactlyInAnyOrder("Draft", "Submitted");
+        assertThat(byStatus).extracting(DocumentSummary::title).containsExactly("Submitted");
+    }
+}
@@ -1,16 +1,26 @@
 package com.itqgroup.service.service;
 
 import com.itqgroup.service.dto.*;
+import com.itqgroup.service.exception.BadRequestException;
 import com.itqgroup.service.model.Document;
 import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.model.enums.DocumentAction;
 import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.repository.HistoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @SpringBootTest
 @ActiveProfiles("test")
 @Transactional
+@RecordApplicationEvents
 class DocumentServiceTest {
 
     @Autowired
@@ -27,6 +38,15 @@ class DocumentServiceTest {
     @Autowired
     private DocumentRepository documentRepository;
 
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Document testDocument;
 
     @BeforeEach
@@ -86,6 +106,22 @@ class DocumentServiceTest {
         assertThat(updated.getStatus()).isEqualTo(DocumentStatus.SUBMITTED);
     }
 
+    @Test
+    void submitDocuments_ShouldPublishOnlyTransitionedIds() {
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(List.of(testDocument.getId(), 999L));
+        request.setUserId("test-user");
+
+        documentService.submitDocuments(request);
+
+        assertThat(applicationEvents.stream(DocumentStatusChangedEvent.class))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.documentIds()).containsExactly(testDocument.getId());
+                    assertThat(event.status()).isEqualTo(DocumentStatus.SUBMITTED);
+                });
+    }
+
     @Test
     void submitDocuments_WithInvalidId_ShouldReturnNotFound() {
         // Given
@@ -101,6 +137,21 @@ class DocumentServiceTest {
         assertThat(results.get(0).getStatus()).isEqualTo(SubmitResult.Status.NOT_FOUND);
     }
 
+    @Test
+    void submitAndApprove_WithEmptyIds_ShouldStillBeTimed() {
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(List.of());
+        request.setUserId("test-user");
+        long submits = operationCount("submit");
+        long approves = operationCount("approve");
+
+        assertThat(documentService.submitDocuments(request)).isEmpty();
+        assertThat(documentService.approveDocuments(request)).isEmpty();
+
+        assertThat(operationCount("submit")).isEqualTo(submits + 1);
+        assertThat(operationCount("approve")).isEqualTo(approves + 1);
+    }
+
     @Test
     void submitDocuments_WithInvalidStatus_ShouldReturnConflict() {
         // Given
@@ -118,4 +169,107 @@ class DocumentServiceTest {
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getStatus()).isEqualTo(SubmitResult.Status.CONFLICT);
     }
-}
\ No newline at end of file
+
+    @Test
+    void submitDocuments_WithMixedIds_ShouldKeepPerIdResultsInRequestOrder() {
+        // Given
+        Document submitted = new Document();
+        submitted.setAuthor("Other Author");
+        submitted.setTitle("Other Title");
+        submitted.submit("user", "comment");
+        submitted = documentRepository.save(submitted);
+
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(List.of(testDocument.getId(), 999L, submitted.getId(), testDocument.getId()));
+        request.setUserId("test-user");
+        request.setComment("bulk submit");
+
+        // When
+        List<SubmitResult> results = documentService.submitDocuments(request);
+
+        // Then
+        assertThat(results).extracting(SubmitResult::getStatus).containsExactly(
+                SubmitResult.Status.SUCCESS,
+                SubmitResult.Status.NOT_FOUND,
+                SubmitResult.Status.CONFLICT,
+                SubmitResult.Status.CONFLICT);
+
+        assertThat(historyRepository.findByDocumentIdOrderByTimestampDesc(testDocument.getId()))
+                .singleElement()
+                .satisfies(h -> {
+                    assertThat(h.getAction()).isEqualTo(DocumentAction.SUBMIT);
+                    assertThat(h.getUserId()).isEqualTo("test-user");
+                    assertThat(h.getComment()).isEqualTo("bulk submit");
+                });
+    }
+
+    @Test
+    void searchDocuments_ShouldLoadHistoryForPageOrOmitIt() {
+        // Given
+        Document other = new Document();
+        other.setAuthor("Test Author");
+        other.setTitle("Without history");
+        documentRepository.save(other);
+
+        DocumentActionRequest submit = new DocumentActionRequest();
+        submit.setIds(List.of(testDocument.getId()));
+        submit.setUserId("test-user");
+        submit.setComment("submit");
+        documentService.submitDocuments(submit);
+
+        DocumentSearchRequest search = new DocumentSearchRequest();
+        search.setDateFrom(LocalDateTime.now().minusHours(1));
+        search.setDateTo(LocalDateTime.now().plusHours(1));
+
+        // When
+        List<DocumentResponse> withHistory = documentService.searchDocuments(search);
+        search.setIncludeHistory(false);
+        List<DocumentResponse> withoutHistory = documentService.searchDocuments(search);
+
+        // Then
+        assertThat(withHistory).hasSize(2);
+        assertThat(withHistory).filteredOn(r -> r.getId().equals(testDocument.getId()))
+                .singleElement()
+                .satisfies(r -> assertThat(r.getHistory()).extracting(HistoryResponse::getAction)
+                        .containsExactly(DocumentAction.SUBMIT));
+        assertThat(withHistory).filteredOn(r -> r.getId().equals(other.getId()))
+                .singleElement()
+                .satisfies(r -> assertThat(r.getHistory()).isEmpty());
+        assertThat(withoutHistory).hasSize(2).allSatisfy(r -> assertThat(r.getHistory()).isNull());
+    }
+
+    @Test
+    void exportDocuments_ShouldWriteOneJsonLinePerDocument() throws Exception {
+        // Given
+        Document other = new Document();
+        other.setAuthor("Export Author");
+        other.setTitle("Exported");
+        documentRepository.save(other);
+
+        DocumentSearchRequest search = new DocumentSearchRequest();
+        search.setAuthor("Export Author");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = documentService.exportDocuments(search, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(1);
+        assertThat(lines).singleElement()
+                .satisfies(line -> assertThat(line).contains("\"title\":\"Exported\"").doesNotContain("history"));
+    }
+
+    @Test
+    void createDocuments_OverMaximumBatchSize_ShouldBeRejected() {
+        // Given
+        List<DocumentCreateRequest> requests = Collections.nCopies(10_001, new DocumentCreateRequest());
+
+        // When / Then
+        assertThrows(BadRequestException.class, () -> documentService.createDocuments(requests));
+    }
+
+    private long operationCount(String operation) {
+        return meterRegistry.get("document.operation").tag("operation", operation).timer().count();
+    }
+}
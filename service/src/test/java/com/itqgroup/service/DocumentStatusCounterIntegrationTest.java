@@ -0,0 +1,119 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.dto.DocumentActionRequest;
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.repository.DocumentStatusCounterRepository;
+import com.itqgroup.service.repository.DocumentStatusCounterRepository.StatusCount;
+import com.itqgroup.service.service.DocumentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Счётчики document_status_counter, которые ведут триггеры, совпадают с count(*) по document после любых изменений.
+ */
+class DocumentStatusCounterIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final int DOCUMENTS = 300;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentStatusCounterRepository counterRepository;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM approval_registry");
+        jdbcTemplate.update("DELETE FROM document_history");
+        jdbcTemplate.update("DELETE FROM document");
+    }
+
+    @Test
+    void transitions_ShouldKeepCountersEqualToTableCounts() {
+        List<Long> ids = createDrafts();
+        assertThat(counters()).isEqualTo(tableCounts()).containsEntry(DocumentStatus.DRAFT, (long) DOCUMENTS);
+
+        documentService.submitDocuments(request(ids.subList(0, 100)));
+        documentService.approveDocuments(request(ids.subList(0, 40)));
+        jdbcTemplate.update("DELETE FROM document_history WHERE document_id IN (SELECT id FROM document WHERE status = 'DRAFT' AND title LIKE 'Counter 29%')");
+        jdbcTemplate.update("DELETE FROM document WHERE status = 'DRAFT' AND title LIKE 'Counter 29%'");
+
+        // Откат не должен оставлять следов в счётчиках
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE document SET status = 'SUBMITTED' WHERE status = 'DRAFT'");
+            status.setRollbackOnly();
+        });
+
+        Map<DocumentStatus, Long> counters = counters();
+        assertThat(counters).isEqualTo(tableCounts());
+        assertThat(counters).containsEntry(DocumentStatus.SUBMITTED, 60L).containsEntry(DocumentStatus.APPROVED, 40L);
+    }
+
+    @Test
+    void truncate_ShouldResetCounters() {
+        createDrafts();
+
+        jdbcTemplate.execute("TRUNCATE document CASCADE");
+
+        assertThat(counters()).isEmpty();
+    }
+
+    private List<Long> createDrafts() {
+        List<Document> documents = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            Document document = new Document();
+            document.setAuthor("counter");
+            document.setTitle("Counter " + i);
+            documents.add(document);
+        }
+        return transactionTemplate.execute(status -> documentRepository.saveAll(documents))
+                .stream().map(Document::getId).toList();
+    }
+
+    private Map<DocumentStatus, Long> counters() {
+        Map<DocumentStatus, Long> counts = new EnumMap<>(DocumentStatus.class);
+        for (StatusCount count : counterRepository.sumByStatus()) {
+            if (count.getDocumentCount() != 0) {
+                counts.put(count.getStatus(), count.getDocumentCount());
+            }
+        }
+        return counts;
+    }
+
+    private Map<DocumentStatus, Long> tableCounts() {
+        Map<DocumentStatus, Long> counts = new EnumMap<>(DocumentStatus.class);
+        jdbcTemplate.query("SELECT status, count(*) FROM document GROUP BY status",
+                rs -> {
+                    counts.put(DocumentStatus.valueOf(rs.getString(1)), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    private static DocumentActionRequest request(List<Long> ids) {
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(new ArrayList<>(ids));
+        request.setUserId("counter");
+        return request;
+    }
+}
@@ -0,0 +1,61 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.config.TaskThreads;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentStatusNotifierTest {
+
+    private final DocumentStatusNotifier notifier = new DocumentStatusNotifier(TaskThreads.platform(), 2);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        notifier.shutdown();
+    }
+
+    @Test
+    void subscriber_ShouldReceiveOnlyItsDocumentsOnNotifierThreads() throws InterruptedException {
+        Map<Long, DocumentStatus> received = new ConcurrentHashMap<>();
+        Map<Long, String> threads = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        notifier.subscribe(List.of(1L, 2L), (documentId, status) -> {
+            received.put(documentId, status);
+            threads.put(documentId, Thread.currentThread().getName());
+            latch.countDown();
+        });
+
+        notifier.onStatusChanged(new DocumentStatusChangedEvent(List.of(1L, 3L), DocumentStatus.SUBMITTED));
+        notifier.onStatusChanged(new DocumentStatusChangedEvent(List.of(2L), DocumentStatus.APPROVED));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactlyInAnyOrderEntriesOf(
+                Map.of(1L, DocumentStatus.SUBMITTED, 2L, DocumentStatus.APPROVED));
+        assertThat(threads.values()).allMatch(name -> name.startsWith("document-events-"));
+    }
+
+    @Test
+    void unsubscribe_ShouldStopNotificationsAndDropEmptyEntries() throws InterruptedException {
+        CountDownLatch other = new CountDownLatch(1);
+        AtomicBoolean notified = new AtomicBoolean();
+        Runnable unsubscribe = notifier.subscribe(List.of(1L, 2L), (documentId, status) -> notified.set(true));
+        notifier.subscribe(List.of(2L), (documentId, status) -> other.countDown());
+
+        unsubscribe.run();
+        notifier.onStatusChanged(new DocumentStatusChangedEvent(List.of(1L, 2L), DocumentStatus.SUBMITTED));
+
+        assertThat(other.await(5, TimeUnit.SECONDS)).isTrue();
+        notifier.shutdown();
+        assertThat(notified).isFalse();
+        assertThat(notifier.getSubscribedDocuments()).isEqualTo(1);
+    }
+}
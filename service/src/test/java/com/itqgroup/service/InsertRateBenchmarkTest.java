@@ -0,0 +1,78 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.repository.DocumentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнение скорости вставки: построчные INSERT ... RETURNING id (так Hibernate вынужден работать с IDENTITY)
+ * против пакетных вставок сущностей с pooled-lo последовательностью.
+ */
+@Tag("benchmark")
+class InsertRateBenchmarkTest extends AbstractPostgresIntegrationTest {
+
+    private static final int ROWS = 5_000;
+
+    private static final String INSERT_SQL = "INSERT INTO document (unique_number, author, title, status, created_at, updated_at) "
+            + "VALUES (?, 'benchmark', 'row-by-row', 'DRAFT', now(), now())";
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void pooledSequenceInserts_ShouldOutrunRowByRowIdentityInserts() {
+        long rowByRowNanos = measure(() -> {
+            for (int i = 0; i < ROWS; i++) {
+                String uniqueNumber = "BENCH-" + i;
+                jdbcTemplate.update(con -> {
+                    PreparedStatement ps = con.prepareStatement(INSERT_SQL, new String[]{"id"});
+                    ps.setString(1, uniqueNumber);
+                    return ps;
+                }, new GeneratedKeyHolder());
+            }
+        });
+
+        long batchedNanos = measure(() -> {
+            List<Document> documents = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                Document document = new Document();
+                document.setAuthor("benchmark");
+                document.setTitle("pooled-lo batch");
+                documents.add(document);
+            }
+            documentRepository.saveAll(documents);
+        });
+
+        System.out.printf("Row-by-row (IDENTITY style): %,.0f rows/s%n", rate(rowByRowNanos));
+        System.out.printf("Batched (pooled-lo sequence): %,.0f rows/s%n", rate(batchedNanos));
+
+        assertThat(batchedNanos).isLessThan(rowByRowNanos);
+    }
+
+    private long measure(Runnable action) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> action.run());
+        return System.nanoTime() - start;
+    }
+
+    private static double rate(long nanos) {
+        return ROWS * 1_000_000_000.0 / nanos;
+    }
+}
@@ -0,0 +1,86 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.numbering.NodeLease;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Аренда номеров узлов в document_node_lease: занятый узел не выдаётся повторно, без свободных узлов
+ * старт падает вместо выдачи номера работающего экземпляра, а потерянный узел заменяется свободным.
+ */
+class NodeLeaseIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE document_node_lease SET owner = NULL, expires_at = TIMESTAMP '1970-01-01' "
+                + "WHERE owner LIKE 'test-%'");
+    }
+
+    @Test
+    void acquire_ShouldNotReturnNodeHeldByRunningInstance() {
+        // Узлы, арендованные при старте контекстов тестов
+        List<Integer> heldNodeIds = jdbcTemplate.queryForList(
+                "SELECT node_id FROM document_node_lease WHERE expires_at > now()", Integer.class);
+        NodeLease lease = new NodeLease(jdbcTemplate, Duration.ofMinutes(1));
+
+        int nodeId = lease.acquire();
+
+        assertThat(heldNodeIds).isNotEmpty().doesNotContain(nodeId);
+        lease.check();
+        lease.release();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM document_node_lease WHERE node_id = ? AND expires_at <= now()",
+                Integer.class, nodeId)).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_WhenAllNodesHeld_ShouldFailInsteadOfReusingNode() {
+        jdbcTemplate.update("UPDATE document_node_lease SET owner = 'test-holder', expires_at = now() + INTERVAL '1 hour' "
+                + "WHERE expires_at < now()");
+
+        NodeLease lease = new NodeLease(jdbcTemplate, Duration.ofMinutes(1));
+
+        assertThatThrownBy(lease::acquire).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void renew_WhenNodeTakenOver_ShouldLeaseAnotherNode() {
+        NodeLease lease = new NodeLease(jdbcTemplate, Duration.ofMinutes(1));
+        int nodeId = lease.acquire();
+        jdbcTemplate.update("UPDATE document_node_lease SET owner = 'test-other' WHERE node_id = ?", nodeId);
+
+        lease.renew();
+
+        lease.check();
+        assertThat(lease.next()).startsWith("DOC-");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT node_id FROM document_node_lease WHERE owner NOT LIKE 'test-%' AND expires_at > now()",
+                Integer.class)).doesNotContain(nodeId);
+        lease.release();
+    }
+
+    @Test
+    void check_WhenNodeTakenOverAndNoNodeFree_ShouldStopIssuingNumbers() {
+        NodeLease lease = new NodeLease(jdbcTemplate, Duration.ofMinutes(1));
+        int nodeId = lease.acquire();
+        jdbcTemplate.update("UPDATE document_node_lease SET owner = 'test-other' WHERE node_id = ?", nodeId);
+        jdbcTemplate.update("UPDATE document_node_lease SET owner = 'test-holder', expires_at = now() + INTERVAL '1 hour' "
+                + "WHERE expires_at < now()");
+
+        lease.renew();
+
+        assertThatThrownBy(lease::check).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(lease::next).isInstanceOf(IllegalStateException.class);
+    }
+}
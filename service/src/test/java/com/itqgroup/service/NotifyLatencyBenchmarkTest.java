@@ -0,0 +1,19 @@
+package com.itqgroup.service.integration;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotifyLatencyBenchmarkTest extends AbstractStatusLatencyBenchmark {
+
+    @DynamicPropertySource
+    static void notifyProperties(DynamicPropertyRegistry registry) {
+        workerProperties(registry, true);
+    }
+
+    @Override
+    protected void assertMedian(long medianMillis) {
+        assertThat(medianMillis).isLessThan(INTERVAL_MILLIS / 10);
+    }
+}
@@ -0,0 +1,92 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.dto.ApproveResult;
+import com.itqgroup.service.dto.DocumentActionRequest;
+import com.itqgroup.service.dto.SubmitResult;
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.service.DocumentService;
+import com.itqgroup.service.service.ParallelDocumentActionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Задержка /submit и /approve на 1000 ID: одна транзакция на потоке запроса против частей в параллельных транзакциях.
+ */
+@Tag("benchmark")
+class ParallelActionBenchmarkTest extends AbstractPostgresIntegrationTest {
+
+    private static final int IDS = 1_000;
+    private static final int SAMPLES = 7;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private ParallelDocumentActionService parallelService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Test
+    void parallelChunks_ShouldLowerLatencyOfLargeRequests() {
+        // Прогрев обоих путей
+        measure(documentService::submitDocuments, documentService::approveDocuments);
+        measure(parallelService::submitDocuments, parallelService::approveDocuments);
+
+        List<Long> sequential = new ArrayList<>();
+        List<Long> parallel = new ArrayList<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            sequential.add(measure(documentService::submitDocuments, documentService::approveDocuments));
+            parallel.add(measure(parallelService::submitDocuments, parallelService::approveDocuments));
+        }
+
+        long sequentialMedian = median(sequential);
+        long parallelMedian = median(parallel);
+        System.out.printf("Sequential: median %d ms per %d IDs (submit + approve)%n", sequentialMedian, IDS);
+        System.out.printf("Parallel:   median %d ms per %d IDs (submit + approve)%n", parallelMedian, IDS);
+
+        assertThat(parallelMedian).isLessThan(sequentialMedian);
+    }
+
+    private long measure(Function<DocumentActionRequest, List<SubmitResult>> submit,
+                         Function<DocumentActionRequest, List<ApproveResult>> approve) {
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(createDrafts());
+        request.setUserId("benchmark");
+
+        long start = System.nanoTime();
+        List<SubmitResult> submitted = submit.apply(request);
+        List<ApproveResult> approved = approve.apply(request);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(submitted).allMatch(result -> result.getStatus() == SubmitResult.Status.SUCCESS);
+        assertThat(approved).allMatch(result -> result.getStatus() == ApproveResult.Status.SUCCESS);
+        return millis;
+    }
+
+    private List<Long> createDrafts() {
+        List<Document> documents = new ArrayList<>(IDS);
+        for (int i = 0; i < IDS; i++) {
+            Document document = new Document();
+            document.setAuthor("benchmark");
+            document.setTitle("parallel " + i);
+            documents.add(document);
+        }
+        return documentRepository.saveAll(documents).stream().map(Document::getId).toList();
+    }
+
+    private static long median(List<Long> samples) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
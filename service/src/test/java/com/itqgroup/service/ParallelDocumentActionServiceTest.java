@@ -0,0 +1,92 @@
+package com.itqgroup.service.service;
+
+import com.itqgroup.service.config.TaskThreads;
+import com.itqgroup.service.dto.DocumentActionRequest;
+import com.itqgroup.service.dto.SubmitResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParallelDocumentActionServiceTest {
+
+    private final DocumentService documentService = mock(DocumentService.class);
+    private final ParallelDocumentActionService parallelService = new ParallelDocumentActionService(documentService, TaskThreads.platform(), 4, 10);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        parallelService.shutdown();
+    }
+
+    @Test
+    void largeRequest_ShouldRunChunksInParallelAndKeepRequestOrder() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(documentService.submitDocuments(any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            DocumentActionRequest chunk = invocation.getArgument(0);
+            assertThat(chunk.getIds()).hasSizeLessThanOrEqualTo(10);
+            assertThat(chunk.getUserId()).isEqualTo("user");
+            // Части заканчиваются в обратном порядке
+            Thread.sleep(100 - chunk.getIds().get(0));
+            return chunk.getIds().stream().map(SubmitResult::success).collect(Collectors.toList());
+        });
+
+        List<Long> ids = LongStream.range(0, 95).boxed().collect(Collectors.toList());
+        List<SubmitResult> results = parallelService.submitDocuments(request(ids));
+
+        assertThat(results).extracting(SubmitResult::getDocumentId).containsExactlyElementsOf(ids);
+        verify(documentService, times(10)).submitDocuments(any());
+        assertThat(threads).anyMatch(name -> name.startsWith("document-parallel-"));
+    }
+
+    @Test
+    void smallRequest_ShouldRunOnCallerThreadAsOneChunk() {
+        DocumentActionRequest request = request(List.of(1L, 2L, 3L));
+
+        parallelService.approveDocuments(request);
+
+        verify(documentService).approveDocuments(request);
+        verify(documentService, never()).submitDocuments(any());
+    }
+
+    @Test
+    void failedChunk_ShouldReportErrorForEachOfItsIdsAndKeepOtherResults() {
+        when(documentService.submitDocuments(any())).thenAnswer(invocation -> {
+            DocumentActionRequest chunk = invocation.getArgument(0);
+            if (chunk.getIds().get(0) == 10L) {
+                throw new IllegalStateException("database is down");
+            }
+            return chunk.getIds().stream().map(SubmitResult::success).collect(Collectors.toList());
+        });
+
+        List<Long> ids = LongStream.range(0, 30).boxed().collect(Collectors.toList());
+        List<SubmitResult> results = parallelService.submitDocuments(request(ids));
+
+        assertThat(results).extracting(SubmitResult::getDocumentId).containsExactlyElementsOf(ids);
+        assertThat(results.subList(10, 20)).allSatisfy(result -> {
+            assertThat(result.getStatus()).isEqualTo(SubmitResult.Status.ERROR);
+            assertThat(result.getMessage()).contains("database is down");
+        });
+        assertThat(results.subList(0, 10)).extracting(SubmitResult::getStatus).containsOnly(SubmitResult.Status.SUCCESS);
+        assertThat(results.subList(20, 30)).extracting(SubmitResult::getStatus).containsOnly(SubmitResult.Status.SUCCESS);
+    }
+
+    private static DocumentActionRequest request(List<Long> ids) {
+        DocumentActionRequest request = new DocumentActionRequest();
+        request.setIds(ids);
+        request.setUserId("user");
+        return request;
+    }
+}
@@ -0,0 +1,12 @@
+package com.itqgroup.service.integration;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+class PlatformThreadsLoadBenchmarkTest extends AbstractThreadModeLoadBenchmark {
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        threadProperties(registry, false);
+    }
+}
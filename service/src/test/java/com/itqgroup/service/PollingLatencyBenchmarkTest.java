@@ -0,0 +1,20 @@
+package com.itqgroup.service.integration;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PollingLatencyBenchmarkTest extends AbstractStatusLatencyBenchmark {
+
+    @DynamicPropertySource
+    static void pollingProperties(DynamicPropertyRegistry registry) {
+        workerProperties(registry, false);
+    }
+
+    @Override
+    protected void assertMedian(long medianMillis) {
+        // Простаивающий воркер замечает документ только на следующем плановом запуске
+        assertThat(medianMillis).isGreaterThan(INTERVAL_MILLIS / 10);
+    }
+}
@@ -0,0 +1,194 @@
+package com.itqgroup.service.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Планы горячих запросов на заполненной таблице: ни один не должен откатываться
+ * на Seq Scan, а запросы с ORDER BY ... LIMIT — на Sort всей выборки.
+ * Запросы, которые приложение выполняет с параметрами, проверяются и в общем (generic) плане подготовленного
+ * оператора: частичные индексы по литералу такому плану недоступны.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final int DOCUMENTS = 200_000;
+
+    private static final String COLUMNS = "id, unique_number, author, title, status, created_at, updated_at";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void fillTables() {
+        // Как в проде: утверждённых большинство, в очереди воркеров — малая доля
+        jdbcTemplate.update("INSERT INTO document (unique_number, author, title, status, created_at, updated_at) "
+                + "SELECT 'PLAN-' || g, 'author-' || (g % 1000), 'title ' || g, "
+                + "CASE WHEN g % 20 = 0 THEN 'DRAFT' WHEN g % 20 = 1 THEN 'SUBMITTED' ELSE 'APPROVED' END, "
+                + "now() - g * interval '1 second', now() - g * interval '1 second' "
+                + "FROM generate_series(1, " + DOCUMENTS + ") g");
+        jdbcTemplate.update("INSERT INTO document_history (document_id, action, user_id, comment, timestamp) "
+                + "SELECT id, 'SUBMIT', 'user', NULL, created_at FROM document WHERE status <> 'DRAFT'");
+        jdbcTemplate.update("INSERT INTO approval_registry (document_id, approved_by, approved_at) "
+                + "SELECT id, 'user', updated_at FROM document WHERE status = 'APPROVED'");
+        // VACUUM заполняет карту видимости, без неё планировщик не выбирает Index Only Scan
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    static Stream<Arguments> hotQueries() {
+        String search = "SELECT " + COLUMNS + " FROM document WHERE ";
+        String keysetOrder = " ORDER BY created_at DESC, id DESC LIMIT 21";
+        return Stream.of(
+                Arguments.of("search by status, author and dates",
+                        search + "status = 'APPROVED' AND author = 'author-42' "
+                                + "AND created_at >= now() - interval '10 days' AND created_at <= now()" + keysetOrder,
+                        false, null),
+                Arguments.of("search by author and dates",
+                        search + "author = 'author-42' AND created_at >= now() - interval '10 days'" + keysetOrder,
+                        false, null),
+                Arguments.of("search by status",
+                        search + "status = 'APPROVED'" + keysetOrder,
+                        false, null),
+                Arguments.of("search without filters",
+                        "SELECT " + COLUMNS + " FROM document" + keysetOrder,
+                        false, null),
+                Arguments.of("keyset page after cursor",
+                        search + "status = 'APPROVED' AND created_at <= now() - interval '1 day' "
+                                + "AND (created_at < now() - interval '1 day' "
+                                + "OR (created_at = now() - interval '1 day' AND id < 1000))" + keysetOrder,
+                        // Курсор должен быть границей индекса, а не фильтром по прочитанным строкам
+                        false, "created_at"),
+                Arguments.of("worker claim",
+                        "SELECT " + COLUMNS + " FROM document WHERE status = 'DRAFT' "
+                                + "ORDER BY created_at LIMIT 100 FOR UPDATE SKIP LOCKED",
+                        false, null),
+                Arguments.of("history of a page",
+                        "SELECT id, document_id, action, user_id, comment, timestamp FROM document_history "
+                                + "WHERE document_id IN (SELECT id FROM document ORDER BY created_at DESC, id DESC LIMIT 20) "
+                                + "ORDER BY timestamp, id",
+                        // Сортируются только строки истории одной страницы
+                        true, null),
+                Arguments.of("registry check",
+                        "SELECT document_id FROM approval_registry WHERE document_id IN (1, 2, 3)",
+                        false, null)
+        );
+    }
+
+    /**
+     * Запросы в том виде, в каком их выполняет приложение: статус, id и LIMIT — параметры.
+     */
+    static Stream<Arguments> boundQueries() {
+        return Stream.of(
+                Arguments.of("worker claim",
+                        "SELECT " + COLUMNS + " FROM document WHERE status = $1 "
+                                + "ORDER BY created_at LIMIT $2 FOR UPDATE SKIP LOCKED",
+                        "'DRAFT', 100", null),
+                Arguments.of("search by status",
+                        "SELECT " + COLUMNS + " FROM document WHERE status = $1 ORDER BY created_at DESC, id DESC LIMIT $2",
+                        "'APPROVED', 21", null),
+                Arguments.of("queue lag",
+                        "SELECT min(created_at) FROM document WHERE status = $1",
+                        "'SUBMITTED'", null),
+                Arguments.of("document version",
+                        "SELECT updated_at FROM document WHERE id = $1",
+                        "42", "Index Scan using document_pkey on document")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQuery_ShouldUseIndexes(String name, String sql, boolean sortAllowed, String indexCondColumn)
+            throws Exception {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+
+        List<String> nodes = planNodes(json);
+
+        assertThat(nodes).as("plan of %s: %s", name, json).noneMatch(node -> node.startsWith("Seq Scan"));
+        if (!sortAllowed) {
+            assertThat(nodes).as("plan of %s: %s", name, json).doesNotContain("Sort", "Incremental Sort");
+        }
+        if (indexCondColumn != null) {
+            assertThat(indexConds(json)).as("plan of %s: %s", name, json)
+                    .anyMatch(cond -> cond.contains(indexCondColumn));
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("boundQueries")
+    void boundQuery_ShouldUseIndexesInGenericPlan(String name, String sql, String parameters, String expectedNode)
+            throws Exception {
+        String json = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE bound_query AS " + sql);
+                try (ResultSet plan = statement.executeQuery(
+                        "EXPLAIN (FORMAT JSON) EXECUTE bound_query(" + parameters + ")")) {
+                    plan.next();
+                    return plan.getString(1);
+                } finally {
+                    statement.execute("DEALLOCATE bound_query");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+
+        List<String> nodes = planNodes(json);
+
+        assertThat(nodes).as("generic plan of %s: %s", name, json)
+                .noneMatch(node -> node.startsWith("Seq Scan"))
+                .doesNotContain("Sort", "Incremental Sort");
+        if (expectedNode != null) {
+            assertThat(nodes).as("generic plan of %s: %s", name, json).contains(expectedNode);
+        }
+    }
+
+    private List<String> planNodes(String json) throws Exception {
+        List<String> nodes = new ArrayList<>();
+        collectNodes(objectMapper.readTree(json).get(0).get("Plan"), nodes);
+        return nodes;
+    }
+
+    private List<String> indexConds(String json) throws Exception {
+        List<String> conds = new ArrayList<>();
+        collectIndexConds(objectMapper.readTree(json).get(0).get("Plan"), conds);
+        return conds;
+    }
+
+    private static void collectIndexConds(JsonNode plan, List<String> conds) {
+        if (plan.has("Index Cond")) {
+            conds.add(plan.get("Index Cond").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            collectIndexConds(child, conds);
+        }
+    }
+
+    private static void collectNodes(JsonNode plan, List<String> nodes) {
+        String relation = plan.path("Relation Name").asText("");
+        String index = plan.path("Index Name").asText("");
+        String node = plan.get("Node Type").asText() + (index.isEmpty() ? "" : " using " + index);
+        nodes.add(relation.isEmpty() ? node : node + " on " + relation);
+        for (JsonNode child : plan.path("Plans")) {
+            collectNodes(child, nodes);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.dto.DocumentSummary;
+import com.itqgroup.service.dto.HistoryEntry;
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.DocumentHistory;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.repository.DocumentSpecifications;
+import com.itqgroup.service.repository.HistoryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Чтение страницы документов с историей: управляемые сущности против проекций.
+ * Считаются время и байты, выделенные потоком на одну страницу.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadPathBenchmarkTest extends AbstractPostgresIntegrationTest {
+
+    private static final int DOCUMENTS = 20_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = 400;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    void fillTables() {
+        jdbcTemplate.update("INSERT INTO document (unique_number, author, title, status, created_at, updated_at) "
+                + "SELECT 'READ-' || g, 'author-' || (g % 100), 'title ' || g, 'APPROVED', now(), now() "
+                + "FROM generate_series(1, " + DOCUMENTS + ") g");
+        jdbcTemplate.update("INSERT INTO document_history (document_id, action, user_id, comment, timestamp) "
+                + "SELECT d.id, a.action, 'user', 'benchmark', now() FROM document d "
+                + "CROSS JOIN (VALUES ('SUBMIT'), ('APPROVE')) a(action)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void projectionsShouldAllocateLessThanEntities() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM document ORDER BY id", Long.class);
+
+        Measurement entities = measure(ids, pageIds -> {
+            List<Document> documents = documentRepository.findAllByIdIn(pageIds,
+                    PageRequest.of(0, PAGE_SIZE, Sort.by("id").descending()));
+            List<Long> loaded = documents.stream().map(Document::getId).collect(Collectors.toList());
+            entityManager.createQuery("SELECT h FROM DocumentHistory h WHERE h.document.id IN :ids", DocumentHistory.class)
+                    .setParameter("ids", loaded)
+                    .getResultList();
+        });
+
+        Measurement projections = measure(ids, pageIds -> {
+            List<DocumentSummary> documents = documentRepository.searchSummaries(DocumentSpecifications.idIn(pageIds),
+                    PageRequest.of(0, PAGE_SIZE, Sort.by("id").descending()));
+            List<Long> loaded = documents.stream().map(DocumentSummary::id).collect(Collectors.toList());
+            List<HistoryEntry> history = historyRepository.findEntriesByDocumentIdIn(loaded);
+            assertThat(history).hasSize(2 * PAGE_SIZE);
+        });
+
+        System.out.printf("Entities:    %8.3f ms/page, %,12d bytes/page%n", entities.millisPerPage(), entities.bytesPerPage());
+        System.out.printf("Projections: %8.3f ms/page, %,12d bytes/page%n", projections.millisPerPage(), projections.bytesPerPage());
+
+        assertThat(projections.bytesPerPage()).isLessThan(entities.bytesPerPage());
+    }
+
+    private Measurement measure(List<Long> ids, Consumer<List<Long>> readPage) {
+        // Прогрев
+        runPages(ids, readPage, PAGES / 4);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        runPages(ids, readPage, PAGES);
+
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Measurement(nanos / 1_000_000.0 / PAGES, allocated / PAGES);
+    }
+
+    private void runPages(List<Long> ids, Consumer<List<Long>> readPage, int pages) {
+        // Одна read-only транзакция на страницу, как в запросе к контроллеру
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        for (int page = 0; page < pages; page++) {
+            int from = (page * PAGE_SIZE) % (ids.size() - PAGE_SIZE);
+            List<Long> pageIds = ids.subList(from, from + PAGE_SIZE);
+            readOnly.executeWithoutResult(status -> readPage.accept(pageIds));
+        }
+    }
+
+    private record Measurement(double millisPerPage, long bytesPerPage) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.repository.DocumentSpecifications;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Все 16 комбинаций фильтров поиска (статус, автор, дата с, дата по) на 1 млн документов.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchFilterBenchmarkTest extends AbstractPostgresIntegrationTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int AUTHORS = 1_000;
+    private static final int RUNS = 20;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void fillDocuments() {
+        // created_at — по документу в секунду назад от текущего момента, статусы по кругу
+        jdbcTemplate.update("INSERT INTO document (unique_number, author, title, status, created_at, updated_at) "
+                + "SELECT 'BENCH-' || g, 'author-' || (g % " + AUTHORS + "), 'title ' || g, "
+                + "(ARRAY['DRAFT', 'SUBMITTED', 'APPROVED'])[g % 3 + 1], "
+                + "now() - g * interval '1 second', now() - g * interval '1 second' "
+                + "FROM generate_series(1, " + ROWS + ") g");
+        jdbcTemplate.execute("ANALYZE document");
+    }
+
+    @Test
+    void allFilterCombinations() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 20, Sort.by("createdAt").descending());
+
+        for (int mask = 0; mask < 16; mask++) {
+            DocumentStatus status = (mask & 1) != 0 ? DocumentStatus.SUBMITTED : null;
+            String author = (mask & 2) != 0 ? "author-42" : null;
+            LocalDateTime from = (mask & 4) != 0 ? now.minusDays(3) : null;
+            LocalDateTime to = (mask & 8) != 0 ? now.minusDays(1) : null;
+            Specification<Document> filter = DocumentSpecifications.filter(status, author, from, to);
+
+            // Прогрев планировщика и кэшей
+            documentRepository.searchSummaries(filter, page);
+
+            long start = System.nanoTime();
+            int found = 0;
+            for (int i = 0; i < RUNS; i++) {
+                found = documentRepository.searchSummaries(filter, page).size();
+            }
+            double avgMillis = (System.nanoTime() - start) / 1_000_000.0 / RUNS;
+
+            System.out.printf("status=%-9s author=%-9s from=%-5s to=%-5s -> %2d rows, %8.2f ms%n",
+                    status, author, from != null, to != null, found, avgMillis);
+            assertThat(found).isPositive();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.itqgroup.service.integration;
+
+import com.itqgroup.service.model.Document;
+import com.itqgroup.service.model.enums.DocumentStatus;
+import com.itqgroup.service.repository.DocumentRepository;
+import com.itqgroup.service.service.DocumentMetrics;
+import com.itqgroup.service.service.DocumentService;
+import com.itqgroup.service.worker.SubmitWorker;
+import com.itqgroup.service.worker.WorkerExecutor;
+import com.itqgroup.service.worker.WorkerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Несколько экземпляров воркера на одной БД: захваты через SKIP LOCKED не пересекаются и не ждут друг друга.
+ */
+class SkipLockedClaimIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final int DOCUMENTS = 2_000;
+    private static final int BATCH = 100;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private WorkerExecutor workerExecutor;
+
+    @Autowired
+    private DocumentMetrics documentMetrics;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Бины воркеров в этих тестах выключены; экземпляр без плановых запусков вызывается вручную
+    private SubmitWorker submitWorker;
+
+    @BeforeEach
+    void setUp() {
+        submitWorker = new SubmitWorker(documentService, new WorkerProperties(), documentRepository,
+                workerExecutor, documentMetrics, transactionTemplate, taskScheduler);
+
+        jdbcTemplate.update("DELETE FROM approval_registry");
+        jdbcTemplate.update("DELETE FROM document_history");
+        jdbcTemplate.update("DELETE FROM document");
+
+        List<Document> documents = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            Document document = new Document();
+            document.setAuthor("claim");
+            document.setTitle("Document " + i);
+            documents.add(document);
+        }
+        transactionTemplate.executeWithoutResult(status -> documentRepository.saveAll(documents));
+    }
+
+    @Test
+    void concurrentClaims_ShouldReturnDisjointBatchesWithoutBlocking() throws Exception {
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Первый "экземпляр" держит блокировки, пока второй делает свой захват
+            CompletableFuture<Set<Long>> first = CompletableFuture.supplyAsync(() ->
+                    transactionTemplate.execute(status -> {
+                        Set<Long> ids = claimIds();
+                        firstClaimed.countDown();
+                        await(secondDone);
+                        return ids;
+                    }), executor);
+
+            assertThat(firstClaimed.await(30, TimeUnit.SECONDS)).isTrue();
+            Set<Long> second = transactionTemplate.execute(status -> claimIds());
+            secondDone.countDown();
+
+            assertThat(first.get(30, TimeUnit.SECONDS)).hasSize(BATCH).doesNotContainAnyElementsOf(second);
+            assertThat(second).hasSize(BATCH);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void severalWorkerInstances_ShouldDrainBacklogWithoutProcessingAnyDocumentTwice() throws Exception {
+        drain(4, DOCUMENTS);
+
+        assertThat(countByStatus(DocumentStatus.DRAFT)).isZero();
+        assertThat(countByStatus(DocumentStatus.SUBMITTED)).isEqualTo(DOCUMENTS);
+        List<Long> duplicated = jdbcTemplate.queryForList(
+                "SELECT document_id FROM document_history WHERE action = 'SUBMIT' GROUP BY document_id HAVING count(*) > 1",
+                Long.class);
+        assertThat(duplicated).isEmpty();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void throughput_ShouldScaleWithWorkerInstances() throws Exception {
+        long oneWorker = drain(1, DOCUMENTS);
+        resetToDraft();
+        long fourWorkers = drain(4, DOCUMENTS);
+
+        System.out.printf("Submit throughput: 1 worker %.0f docs/s, 4 workers %.0f docs/s%n",
+                DOCUMENTS * 1000.0 / oneWorker, DOCUMENTS * 1000.0 / fourWorkers);
+
+        assertThat(fourWorkers).isLessThan(oneWorker);
+    }
+
+    private Set<Long> claimIds() {
+        return documentRepository.claimByStatus(DocumentStatus.DRAFT, PageRequest.of(0, BATCH)).stream()
+                .map(Document::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Запускает instances параллельных "экземпляров" воркера, пока не будет отправлено target документов.
+     */
+    private long drain(int instances, int target) throws Exception {
+        long initialDrafts = countByStatus(DocumentStatus.DRAFT);
+        ExecutorService executor = Executors.newFixedThreadPool(instances);
+        long start = System.currentTimeMillis();
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < instances; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    while (initialDrafts - countByStatus(DocumentStatus.DRAFT) < target) {
+                        submitWorker.processQueue();
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private long countByStatus(DocumentStatus status) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM document WHERE status = ?", Long.class, status.name());
+    }
+
+    private void resetToDraft() {
+        jdbcTemplate.update("DELETE FROM document_history");
+        jdbcTemplate.update("UPDATE document SET status = 'DRAFT'");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.itqgroup.service.numbering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeUniqueNumberGeneratorTest {
+
+    private static final long NOW = SnowflakeUniqueNumberGenerator.EPOCH_MILLIS + 86_400_000L;
+
+    @Test
+    void numbers_ShouldHaveFixedWidthAndGrowInOrder() {
+        SnowflakeUniqueNumberGenerator generator = new SnowflakeUniqueNumberGenerator(5, () -> NOW);
+
+        String first = generator.next();
+        String second = generator.next();
+
+        assertThat(first).matches("DOC-[0-9A-Z]{13}");
+        assertThat(second).hasSameSizeAs(first).isGreaterThan(first);
+    }
+
+    @Test
+    void counterOverflow_ShouldBorrowNextMillisecondInsteadOfRepeating() {
+        SnowflakeUniqueNumberGenerator generator = new SnowflakeUniqueNumberGenerator(1, () -> NOW);
+
+        Set<Long> values = new HashSet<>();
+        int count = 3 * (1 << SnowflakeUniqueNumberGenerator.COUNTER_BITS);
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            long value = generator.nextValue();
+            assertThat(value).isGreaterThan(previous);
+            previous = value;
+            values.add(value);
+        }
+
+        assertThat(values).hasSize(count);
+    }
+
+    @Test
+    void clockGoingBack_ShouldNotRepeatNumbers() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeUniqueNumberGenerator generator = new SnowflakeUniqueNumberGenerator(1, clock::get);
+
+        long beforeAdjustment = generator.nextValue();
+        clock.set(NOW - 10_000);
+
+        assertThat(generator.nextValue()).isGreaterThan(beforeAdjustment);
+    }
+
+    @Test
+    void differentNodes_ShouldNeverProduceTheSameNumberAtTheSameTime() {
+        SnowflakeUniqueNumberGenerator node1 = new SnowflakeUniqueNumberGenerator(1, () -> NOW);
+        SnowflakeUniqueNumberGenerator node2 = new SnowflakeUniqueNumberGenerator(2, () -> NOW);
+
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            numbers.add(node1.next());
+            numbers.add(node2.next());
+        }
+
+        assertThat(numbers).hasSize(20_000);
+    }
+
+    @Test
+    void concurrentCalls_ShouldProduceUniqueNumbers() throws Exception {
+        SnowflakeUniqueNumberGenerator generator = new SnowflakeUniqueNumberGenerator(7);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        numbers.add(generator.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(numbers).hasSize(400_000);
+    }
+
+    @Test
+    void nodeOutOfRange_ShouldBeRejected() {
+        assertThatThrownBy(() -> new SnowflakeUniqueNumberGenerator(SnowflakeUniqueNumberGenerator.MAX_NODE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
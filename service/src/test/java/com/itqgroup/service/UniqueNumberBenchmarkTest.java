@@ -0,0 +1,81 @@
+package com.itqgroup.service.numbering;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Генерация номеров: прежняя схема (8 hex-знаков случайного UUID) против Snowflake.
+ * Считаются время и байты, выделенные на номер, и повторы на миллионе номеров.
+ */
+@Tag("benchmark")
+class UniqueNumberBenchmarkTest {
+
+    private static final int NUMBERS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void snowflakeShouldBeCollisionFreeAndAllocateLess() {
+        SnowflakeUniqueNumberGenerator snowflake = new SnowflakeUniqueNumberGenerator(1);
+
+        Measurement uuid = measure(UniqueNumberBenchmarkTest::uuidNumber);
+        Measurement generator = measure(snowflake::next);
+
+        System.out.printf("UUID substring: %6.1f ns/number, %5d bytes/number, %,d duplicates per %,d%n",
+                uuid.nanosPerNumber(), uuid.bytesPerNumber(), uuid.duplicates(), NUMBERS);
+        System.out.printf("Snowflake:      %6.1f ns/number, %5d bytes/number, %,d duplicates per %,d%n",
+                generator.nanosPerNumber(), generator.bytesPerNumber(), generator.duplicates(), NUMBERS);
+
+        assertThat(generator.duplicates()).isZero();
+        assertThat(generator.bytesPerNumber()).isLessThan(uuid.bytesPerNumber());
+    }
+
+    private static String uuidNumber() {
+        return "DOC-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    private Measurement measure(Supplier<String> numbers) {
+        // Прогрев
+        run(numbers, NUMBERS);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            run(numbers, NUMBERS);
+        }
+
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        Set<String> distinct = new HashSet<>(NUMBERS * 2);
+        for (int i = 0; i < NUMBERS; i++) {
+            distinct.add(numbers.get());
+        }
+        long total = (long) ROUNDS * NUMBERS;
+        return new Measurement((double) nanos / total, allocated / total, NUMBERS - distinct.size());
+    }
+
+    private static void run(Supplier<String> numbers, int count) {
+        int hash = 0;
+        for (int i = 0; i < count; i++) {
+            hash += numbers.get().hashCode();
+        }
+        // Результат используется, чтобы JIT не выбросил цикл
+        if (hash == 42) {
+            System.out.print("");
+        }
+    }
+
+    private record Measurement(double nanosPerNumber, long bytesPerNumber, int duplicates) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.itqgroup.service.worker;
+
+import com.itqgroup.service.config.TaskThreads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkerExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WorkerExecutor workerExecutor = new WorkerExecutor(3, TaskThreads.platform(), meterRegistry);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        workerExecutor.shutdown();
+    }
+
+    @Test
+    void runPartitions_ShouldRunEveryPartitionAndSumResults() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        BatchResult result = workerExecutor.runPartitions("submit", 3, partition -> {
+            threads.add(Thread.currentThread().getName());
+            return new BatchResult(10, 10 - partition);
+        });
+
+        assertThat(result.claimed()).isEqualTo(30);
+        assertThat(result.succeeded()).isEqualTo(27);
+        assertThat(threads).allMatch(name -> name.startsWith("document-worker-"));
+
+        assertThat(meterRegistry.get("document.worker.documents")
+                .tags("worker", "submit", "partition", "2", "outcome", "failed")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("document.worker.batch")
+                .tags("worker", "submit", "partition", "0")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void runPartitions_WhenPartitionFails_ShouldKeepResultsOfOthers() {
+        BatchResult result = workerExecutor.runPartitions("approve", 2, partition -> {
+            if (partition == 0) {
+                throw new IllegalStateException("boom");
+            }
+            return new BatchResult(5, 5);
+        });
+
+        assertThat(result.claimed()).isEqualTo(5);
+        assertThat(result.failed()).isZero();
+    }
+}